@@ -0,0 +1,133 @@
+package algoritmos.backtracking;
+
+import java.util.Arrays;
+
+/**
+ * Estructura de conjuntos disjuntos (Union-Find) con deshacer.
+ *
+ * Pensada para backtracking: cada unión se puede revertir en O(1), por lo que al
+ * volver atrás en el árbol de decisiones no hace falta reconstruir nada.
+ *
+ * - Unión por rango: los árboles tienen altura O(log n), así que buscar es O(log n)
+ * - SIN compresión de caminos: la compresión modificaría muchos punteros y haría
+ *   imposible deshacer una unión en O(1)
+ *
+ * La conectividad se consulta contando conjuntos: todo está conectado cuando
+ * queda un único conjunto.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class ConjuntosDisjuntos {
+    private final int[] padre;
+    private final int[] rango;
+    private int numeroConjuntos;
+
+    // Historial de uniones: raíz que se colgó (-1 si la unión no cambió nada)
+    // y si el rango de la nueva raíz aumentó
+    private int[] historialRaiz;
+    private boolean[] historialRango;
+    private int tamanioHistorial;
+
+    /**
+     * Crea n conjuntos de un elemento (0..n-1).
+     *
+     * @param n cantidad de elementos
+     */
+    public ConjuntosDisjuntos(int n) {
+        this.padre = new int[n];
+        this.rango = new int[n];
+        this.numeroConjuntos = n;
+        for (int i = 0; i < n; i++) {
+            padre[i] = i;
+        }
+        // Como mucho n - 1 uniones efectivas; si se registran nulas, el historial crece
+        this.historialRaiz = new int[Math.max(1, n)];
+        this.historialRango = new boolean[historialRaiz.length];
+        this.tamanioHistorial = 0;
+    }
+
+    /**
+     * Busca el representante (raíz) del conjunto de x.
+     *
+     * @param x elemento
+     * @return raíz de su conjunto
+     */
+    public int buscar(int x) {
+        while (padre[x] != x) {
+            x = padre[x];
+        }
+        return x;
+    }
+
+    /**
+     * Une los conjuntos de a y b. Siempre registra la operación en el historial,
+     * aunque ya estuvieran unidos, para que deshacer() sea simétrico.
+     *
+     * @param a primer elemento
+     * @param b segundo elemento
+     * @return true si los conjuntos estaban separados
+     */
+    public boolean unir(int a, int b) {
+        int raizA = buscar(a);
+        int raizB = buscar(b);
+
+        if (raizA == raizB) {
+            registrar(-1, false);
+            return false;
+        }
+
+        // Colgar el árbol de menor rango del de mayor rango
+        if (rango[raizA] < rango[raizB]) {
+            int aux = raizA;
+            raizA = raizB;
+            raizB = aux;
+        }
+        padre[raizB] = raizA;
+        boolean subioRango = rango[raizA] == rango[raizB];
+        if (subioRango) {
+            rango[raizA]++;
+        }
+        numeroConjuntos--;
+        registrar(raizB, subioRango);
+        return true;
+    }
+
+    private void registrar(int raiz, boolean subioRango) {
+        if (tamanioHistorial == historialRaiz.length) {
+            historialRaiz = Arrays.copyOf(historialRaiz, 2 * historialRaiz.length);
+            historialRango = Arrays.copyOf(historialRango, historialRaiz.length);
+        }
+        historialRaiz[tamanioHistorial] = raiz;
+        historialRango[tamanioHistorial] = subioRango;
+        tamanioHistorial++;
+    }
+
+    /**
+     * Revierte la última unión realizada.
+     */
+    public void deshacer() {
+        tamanioHistorial--;
+        int raiz = historialRaiz[tamanioHistorial];
+        if (raiz < 0) {
+            return;
+        }
+        int nuevaRaiz = padre[raiz];
+        if (historialRango[tamanioHistorial]) {
+            rango[nuevaRaiz]--;
+        }
+        padre[raiz] = raiz;
+        numeroConjuntos++;
+    }
+
+    /**
+     * @return true si a y b pertenecen al mismo conjunto
+     */
+    public boolean conectados(int a, int b) {
+        return buscar(a) == buscar(b);
+    }
+
+    public int getNumeroConjuntos() {
+        return numeroConjuntos;
+    }
+}
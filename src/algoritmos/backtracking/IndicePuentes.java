@@ -0,0 +1,194 @@
+package algoritmos.backtracking;
+
+import java.util.HashSet;
+import java.util.Set;
+import modelo.GrafoIndexado;
+import modelo.Usuario;
+
+/**
+ * Índice de puentes y puntos de articulación de la red (algoritmo de Tarjan).
+ *
+ * Un PUENTE es una amistad cuya eliminación desconecta a sus dos extremos.
+ * Con el índice construido, saber si un bloqueo rompe la conectividad es una
+ * consulta O(1): la red sigue conexa si y solo si era conexa y la amistad
+ * bloqueada no es un puente.
+ *
+ * Construcción: un único DFS de O(V + E) calculando para cada nodo
+ * - disc[v]: orden de descubrimiento
+ * - low[v]: menor disc alcanzable desde el subárbol de v usando una arista de retroceso
+ * La arista de árbol (padre, v) es puente si low[v] > disc[padre].
+ * El DFS es iterativo (pila explícita) para no desbordar la pila en cadenas largas.
+ *
+ * El índice recuerda la versión del grafo con la que se construyó; si la red
+ * cambia hay que reconstruirlo (ver estaActualizado).
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class IndicePuentes {
+    private final GrafoIndexado grafo;
+    private final long version;
+
+    private final Set<Long> puentes;
+    private final boolean[] articulaciones;
+    private final int[] componente;
+    private int numeroComponentes;
+
+    /**
+     * Construye el índice recorriendo todo el grafo una vez.
+     *
+     * @param grafo red social a analizar
+     */
+    public IndicePuentes(GrafoIndexado grafo) {
+        this.grafo = grafo;
+        this.version = grafo.getVersion();
+
+        int n = grafo.getNumeroVertices();
+        this.puentes = new HashSet<>();
+        this.articulaciones = new boolean[n];
+        this.componente = new int[n];
+        this.numeroComponentes = 0;
+
+        construir(n);
+    }
+
+    private static long clave(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    /**
+     * Tarjan iterativo: la pila guarda el nodo y la posición del próximo vecino a explorar.
+     */
+    private void construir(int n) {
+        int[] disc = new int[n];
+        int[] low = new int[n];
+        int[] padre = new int[n];
+        int[] siguiente = new int[n];
+        int[] pila = new int[n];
+        int tiempo = 0;
+
+        for (int raiz = 0; raiz < n; raiz++) {
+            if (disc[raiz] != 0) {
+                continue;
+            }
+
+            int hijosRaiz = 0;
+            int tope = 0;
+            pila[tope++] = raiz;
+            padre[raiz] = -1;
+            disc[raiz] = low[raiz] = ++tiempo;
+            componente[raiz] = numeroComponentes;
+
+            while (tope > 0) {
+                int v = pila[tope - 1];
+
+                if (siguiente[v] < grafo.getGrado(v)) {
+                    int w = grafo.getVecino(v, siguiente[v]++);
+                    if (disc[w] == 0) {
+                        // Arista de árbol: descender
+                        padre[w] = v;
+                        disc[w] = low[w] = ++tiempo;
+                        componente[w] = numeroComponentes;
+                        pila[tope++] = w;
+                        if (v == raiz) {
+                            hijosRaiz++;
+                        }
+                    } else if (w != padre[v]) {
+                        // Arista de retroceso
+                        low[v] = Math.min(low[v], disc[w]);
+                    }
+                } else {
+                    // Subárbol de v terminado: propagar low al padre
+                    tope--;
+                    int p = padre[v];
+                    if (p >= 0) {
+                        low[p] = Math.min(low[p], low[v]);
+                        if (low[v] > disc[p]) {
+                            puentes.add(clave(p, v));
+                        }
+                        if (p != raiz && low[v] >= disc[p]) {
+                            articulaciones[p] = true;
+                        }
+                    }
+                }
+            }
+
+            // La raíz es articulación si tiene más de un hijo en el árbol DFS
+            articulaciones[raiz] = hijosRaiz > 1;
+            numeroComponentes++;
+        }
+    }
+
+    /**
+     * @return true si el grafo no cambió desde que se construyó el índice
+     */
+    public boolean estaActualizado() {
+        return grafo.getVersion() == version;
+    }
+
+    /**
+     * @return grafo sobre el que se construyó el índice
+     */
+    public GrafoIndexado getGrafo() {
+        return grafo;
+    }
+
+    /**
+     * @param u índice del primer usuario
+     * @param v índice del segundo usuario
+     * @return true si la amistad (u, v) es un puente
+     */
+    public boolean esPuente(int u, int v) {
+        return puentes.contains(clave(u, v));
+    }
+
+    /**
+     * @return true si la amistad entre ambos usuarios es un puente
+     */
+    public boolean esPuente(Usuario u1, Usuario u2) {
+        int i1 = grafo.getIndice(u1);
+        int i2 = grafo.getIndice(u2);
+        return i1 >= 0 && i2 >= 0 && esPuente(i1, i2);
+    }
+
+    /**
+     * @param indice índice del usuario
+     * @return true si eliminar al usuario desconecta su componente
+     */
+    public boolean esArticulacion(int indice) {
+        return articulaciones[indice];
+    }
+
+    /**
+     * @return true si ambos usuarios están en la misma componente conexa
+     */
+    public boolean mismaComponente(int u, int v) {
+        return componente[u] == componente[v];
+    }
+
+    /**
+     * Responde en O(1) si la red sigue conexa después de eliminar la amistad (u, v).
+     *
+     * @param u índice del primer usuario
+     * @param v índice del segundo usuario
+     * @return true si el grafo sigue siendo conexo sin esa amistad
+     */
+    public boolean sigueConexoSin(int u, int v) {
+        return esConexo() && !esPuente(u, v);
+    }
+
+    /**
+     * @return true si el grafo es conexo
+     */
+    public boolean esConexo() {
+        return numeroComponentes <= 1;
+    }
+
+    public int getNumeroComponentes() {
+        return numeroComponentes;
+    }
+
+    public int getNumeroPuentes() {
+        return puentes.size();
+    }
+}
@@ -1,9 +1,10 @@
 package algoritmos.backtracking;
 
 import java.util.*;
-import modelo.Arista;
-import modelo.Grafo;
+import modelo.GrafoIndexado;
+import modelo.RecorridoGrafo;
 import modelo.Usuario;
+import modelo.VistaGrafo;
 
 /**
  * Simulador de bloqueos en la red social usando BACKTRACKING.
@@ -17,11 +18,16 @@ import modelo.Usuario;
  * ENFOQUE: Backtracking con poda
  * - Explorar exhaustivamente combinaciones de nuevas conexiones
  * - Podar ramas que ya exceden el mínimo conocido
- * - Validar conectividad con DFS
+ * - Simular el bloqueo sobre una VistaGrafo (deltas), sin copiar el grafo original
+ * - Durante la búsqueda, validar conectividad con Union-Find con deshacer sobre
+ *   las componentes (ConjuntosDisjuntos), sin volver a recorrer el grafo
  * 
  * COMPLEJIDAD:
- * - Verificación de conectividad: O(V + E) usando DFS
- * - Búsqueda de conexiones mínimas: O(2^C) donde C = conexiones candidatas
+ * - Verificación de conectividad: O(V + E) con un recorrido iterativo (RecorridoGrafo)
+ * - Conectividad tras un bloqueo: O(1) con el índice de puentes (Tarjan),
+ *   que se construye en O(V + E) y se reutiliza mientras el grafo no cambie
+ * - Búsqueda de conexiones mínimas: O(2^C · log k) donde C = conexiones candidatas
+ *   y k = componentes (cada nodo une o deshace una conexión en O(log k))
  * - Con poda efectiva: mucho mejor en la práctica
  * 
  * PARADIGMA: Backtracking
@@ -41,6 +47,12 @@ public class SimuladorBloqueos {
     private int nodosExplorados = 0;
     private int nodosRecortados = 0;
     
+    // Índice de puentes del último grafo simulado (se reconstruye si el grafo cambia)
+    private IndicePuentes indicePuentes;
+    
+    // Motor de recorrido del último grafo verificado (cola y marcas reutilizables)
+    private RecorridoGrafo recorrido;
+    
     /**
      * Simula el bloqueo de un usuario a otro y verifica la conectividad.
      * 
@@ -49,17 +61,17 @@ public class SimuladorBloqueos {
      * @param bloqueado usuario bloqueado
      * @return resultado con información de conectividad
      */
-    public ResultadoBloqueo simularBloqueo(Grafo grafo, Usuario bloqueador, Usuario bloqueado) {
+    public ResultadoBloqueo simularBloqueo(GrafoIndexado grafo, Usuario bloqueador, Usuario bloqueado) {
         operaciones = 0;
         nodosExplorados = 0;
         nodosRecortados = 0;
         long inicio = System.nanoTime();
         
-        // Crear copia del grafo para no modificar el original
-        Grafo grafoCopia = grafo.copiar();
+        // Vista sobre el grafo original: el bloqueo se registra como delta, sin copiar
+        VistaGrafo vista = new VistaGrafo(grafo);
         
         // Verificar que la conexión existe
-        if (!grafoCopia.sonAmigos(bloqueador, bloqueado)) {
+        if (!vista.sonAmigos(bloqueador, bloqueado)) {
             tiempoEjecucion = System.nanoTime() - inicio;
             return new ResultadoBloqueo(
                 bloqueador, bloqueado, true, 0, 
@@ -67,13 +79,11 @@ public class SimuladorBloqueos {
             );
         }
         
-        // Eliminar la conexión (bloqueo)
-        grafoCopia.eliminarAmistad(bloqueador, bloqueado);
+        // Verificar si el grafo sigue siendo conexo: O(1) con el índice de puentes
+        IndicePuentes puentes = getIndicePuentes(grafo);
+        boolean esConexo = puentes.sigueConexoSin(grafo.getIndice(bloqueador), grafo.getIndice(bloqueado));
         operaciones++;
         
-        // Verificar si el grafo sigue siendo conexo
-        boolean esConexo = verificarConectividad(grafoCopia);
-        
         if (esConexo) {
             // El grafo sigue conexo, no se necesitan nuevas conexiones
             tiempoEjecucion = System.nanoTime() - inicio;
@@ -83,8 +93,11 @@ public class SimuladorBloqueos {
             );
         }
         
+        // Eliminar la conexión (bloqueo)
+        vista.eliminarAmistad(bloqueador, bloqueado);
+        
         // El grafo no es conexo, encontrar conexiones mínimas
-        List<ParUsuarios> conexionesMinimas = encontrarConexionesMinimas(grafoCopia);
+        List<ParUsuarios> conexionesMinimas = encontrarConexionesMinimas(vista);
         
         tiempoEjecucion = System.nanoTime() - inicio;
         
@@ -95,49 +108,45 @@ public class SimuladorBloqueos {
     }
     
     /**
-     * Verifica si el grafo es conexo usando DFS (Depth-First Search).
-     * Un grafo es conexo si existe un camino entre cualquier par de nodos.
+     * Obtiene el índice de puentes del grafo.
+     * Se construye una vez (O(V + E)) y se reutiliza entre simulaciones mientras
+     * el grafo no cambie; si cambió, se reconstruye.
      * 
-     * @param grafo grafo a verificar
-     * @return true si el grafo es conexo
+     * @param grafo red social
+     * @return índice de puentes actualizado
      */
-    public boolean verificarConectividad(Grafo grafo) {
-        if (grafo.estaVacio()) {
-            return true;
+    public IndicePuentes getIndicePuentes(GrafoIndexado grafo) {
+        if (indicePuentes == null || indicePuentes.getGrafo() != grafo || !indicePuentes.estaActualizado()) {
+            indicePuentes = new IndicePuentes(grafo);
+            operaciones += grafo.getNumeroVertices();
         }
-        
-        Set<Usuario> usuarios = grafo.getUsuarios();
-        if (usuarios.isEmpty()) {
-            return true;
-        }
-        
-        // Iniciar DFS desde el primer usuario
-        Usuario inicio = usuarios.iterator().next();
-        Set<Usuario> visitados = new HashSet<>();
-        
-        dfs(grafo, inicio, visitados);
-        operaciones += visitados.size();
-        
-        // Si visitamos todos los usuarios, el grafo es conexo
-        return visitados.size() == usuarios.size();
+        return indicePuentes;
     }
     
     /**
-     * DFS recursivo para marcar todos los nodos alcanzables.
+     * Verifica si el grafo es conexo con un recorrido iterativo.
+     * Un grafo es conexo si existe un camino entre cualquier par de nodos.
+     * No usa recursión, así que no desborda la pila en cadenas largas.
      * 
-     * @param grafo grafo a explorar
-     * @param actual nodo actual
-     * @param visitados conjunto de nodos ya visitados
+     * @param grafo grafo a verificar (Grafo, GrafoCSR, ...)
+     * @return true si el grafo es conexo
      */
-    private void dfs(Grafo grafo, Usuario actual, Set<Usuario> visitados) {
-        visitados.add(actual);
-        
-        for (Arista arista : grafo.getVecinos(actual)) {
-            Usuario vecino = arista.getDestino();
-            if (!visitados.contains(vecino)) {
-                dfs(grafo, vecino, visitados);
-            }
+    public boolean verificarConectividad(GrafoIndexado grafo) {
+        RecorridoGrafo recorrido = getRecorrido(grafo);
+        boolean conexo = recorrido.esConexo();
+        operaciones += recorrido.getCantidadAlcanzados();
+        return conexo;
+    }
+    
+    /**
+     * Obtiene el motor de recorrido del grafo, reutilizando la cola y las marcas
+     * de visitados entre llamadas sobre el mismo grafo.
+     */
+    private RecorridoGrafo getRecorrido(GrafoIndexado grafo) {
+        if (recorrido == null || recorrido.getGrafo() != grafo) {
+            recorrido = new RecorridoGrafo(grafo);
         }
+        return recorrido;
     }
     
     /**
@@ -147,16 +156,19 @@ public class SimuladorBloqueos {
      * @param grafo grafo desconectado
      * @return lista de componentes conexas
      */
-    public List<Set<Usuario>> identificarComponentes(Grafo grafo) {
+    public List<Set<Usuario>> identificarComponentes(GrafoIndexado grafo) {
         List<Set<Usuario>> componentes = new ArrayList<>();
-        Set<Usuario> visitados = new HashSet<>();
+        RecorridoGrafo recorrido = getRecorrido(grafo);
+        recorrido.reiniciar();
         
-        for (Usuario usuario : grafo.getUsuarios()) {
-            if (!visitados.contains(usuario)) {
+        for (int i = 0; i < grafo.getNumeroVertices(); i++) {
+            if (!recorrido.estaVisitado(i)) {
+                int alcanzados = recorrido.recorrer(i);
                 Set<Usuario> componente = new HashSet<>();
-                dfs(grafo, usuario, componente);
+                for (int k = 0; k < alcanzados; k++) {
+                    componente.add(grafo.getUsuario(recorrido.getAlcanzado(k)));
+                }
                 componentes.add(componente);
-                visitados.addAll(componente);
             }
         }
         
@@ -170,7 +182,7 @@ public class SimuladorBloqueos {
      * @param grafo grafo desconectado
      * @return lista de pares de usuarios que deben conectarse
      */
-    public List<ParUsuarios> encontrarConexionesMinimas(Grafo grafo) {
+    public List<ParUsuarios> encontrarConexionesMinimas(GrafoIndexado grafo) {
         // Identificar componentes desconectadas
         List<Set<Usuario>> componentes = identificarComponentes(grafo);
         
@@ -189,7 +201,22 @@ public class SimuladorBloqueos {
         // El mínimo teórico es (número de componentes - 1)
         int minimoTeorico = componentes.size() - 1;
         
-        backtrack(grafo, candidatas, 0, solucionActual, mejorSolucion, minimoTeorico);
+        // Componentes que une cada candidata (mismo orden que generarConexionesCandidatas)
+        int[] componenteA = new int[candidatas.size()];
+        int[] componenteB = new int[candidatas.size()];
+        int pos = 0;
+        for (int i = 0; i < componentes.size(); i++) {
+            for (int j = i + 1; j < componentes.size(); j++) {
+                componenteA[pos] = i;
+                componenteB[pos] = j;
+                pos++;
+            }
+        }
+        
+        // Cada componente es un conjunto: el grafo queda conexo cuando queda uno solo
+        ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(componentes.size());
+        backtrack(conjuntos, componenteA, componenteB, candidatas, 0,
+                 solucionActual, mejorSolucion, minimoTeorico);
         
         return mejorSolucion;
     }
@@ -206,26 +233,24 @@ public class SimuladorBloqueos {
      * - Si la solución actual ya es >= mejor conocida, podar
      * - Si encontramos solución óptima (tamaño = mínimo teórico), podar resto
      * 
-     * @param grafo grafo original
+     * @param conjuntos componentes unidas por las conexiones de la solución actual
+     * @param componenteA primera componente que une cada candidata
+     * @param componenteB segunda componente que une cada candidata
      * @param candidatas lista de conexiones candidatas
      * @param index índice actual en la lista de candidatas
      * @param actual solución en construcción
      * @param mejor mejor solución encontrada hasta ahora
      * @param minimoTeorico cota inferior teórica
      */
-    private void backtrack(Grafo grafo, List<ParUsuarios> candidatas, int index,
+    private void backtrack(ConjuntosDisjuntos conjuntos, int[] componenteA, int[] componenteB,
+                          List<ParUsuarios> candidatas, int index,
                           List<ParUsuarios> actual, List<ParUsuarios> mejor, int minimoTeorico) {
         
         nodosExplorados++;
         
-        // CASO BASE: Verificar si la solución actual hace el grafo conexo
+        // CASO BASE: Verificar si la solución actual hace el grafo conexo (O(1))
         if (!actual.isEmpty()) {
-            Grafo grafoPrueba = grafo.copiar();
-            for (ParUsuarios par : actual) {
-                grafoPrueba.agregarAmistad(par.getUsuario1(), par.getUsuario2(), 1);
-            }
-            
-            if (verificarConectividad(grafoPrueba)) {
+            if (conjuntos.getNumeroConjuntos() == 1) {
                 // Encontramos una solución válida
                 if (mejor.isEmpty() || actual.size() < mejor.size()) {
                     mejor.clear();
@@ -252,12 +277,16 @@ public class SimuladorBloqueos {
         }
         
         // DECISIÓN 1: INCLUIR la conexión actual
-        actual.add(candidatas.get(index));
-        backtrack(grafo, candidatas, index + 1, actual, mejor, minimoTeorico);
+        ParUsuarios candidata = candidatas.get(index);
+        actual.add(candidata);
+        conjuntos.unir(componenteA[index], componenteB[index]);
+        operaciones++;
+        backtrack(conjuntos, componenteA, componenteB, candidatas, index + 1, actual, mejor, minimoTeorico);
+        conjuntos.deshacer();
         actual.remove(actual.size() - 1); // BACKTRACK
         
         // DECISIÓN 2: NO INCLUIR la conexión actual
-        backtrack(grafo, candidatas, index + 1, actual, mejor, minimoTeorico);
+        backtrack(conjuntos, componenteA, componenteB, candidatas, index + 1, actual, mejor, minimoTeorico);
     }
     
     /**
@@ -294,7 +323,7 @@ public class SimuladorBloqueos {
      * @param grafo grafo desconectado
      * @return lista de conexiones (solución aproximada)
      */
-    public List<ParUsuarios> encontrarConexionesRapido(Grafo grafo) {
+    public List<ParUsuarios> encontrarConexionesRapido(GrafoIndexado grafo) {
         List<Set<Usuario>> componentes = identificarComponentes(grafo);
         List<ParUsuarios> conexiones = new ArrayList<>();
         
@@ -0,0 +1,276 @@
+package algoritmos.greedy;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import modelo.Grafo;
+import modelo.OyenteGrafo;
+import modelo.Usuario;
+
+/**
+ * Caché acotada de recomendaciones delante de RecomendadorAmigos.recomendar.
+ *
+ * Las entradas se identifican por (usuario, N) y se descartan por tamaño (LRU: al
+ * superar la capacidad sale la menos usada) y por antigüedad (TTL).
+ *
+ * La caché se registra como oyente del grafo y ante cada amistad agregada,
+ * eliminada o con peso modificado invalida solo las entradas afectadas. Cada
+ * entrada guarda su RADIO: la distancia de su última recomendación (o infinito si
+ * devolvió menos de N). El resultado de un usuario x depende solo de lo que está a
+ * distancia <= radio(x), así que un cambio en la arista (a, b) lo afecta solo si
+ * <pre>
+ *   min(d(a, x), d(b, x)) <= radio(x)
+ * </pre>
+ * medido en el grafo ya modificado. Vale también al eliminar o encarecer la
+ * arista: si un camino mínimo anterior la usaba, el tramo hasta el extremo más
+ * cercano sigue existiendo. Esas distancias se calculan con un Dijkstra desde
+ * {a, b} que se corta en el mayor radio de la caché, así que el costo de una
+ * modificación depende del vecindario de la arista y no del tamaño de la red.
+ *
+ * Los cambios hechos directamente con Arista.setPeso no se notifican y dejan la
+ * caché desactualizada (usar Grafo.setPesoArista).
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class CacheRecomendaciones implements OyenteGrafo {
+    private final Grafo grafo;
+    private final RecomendadorAmigos recomendador = new RecomendadorAmigos();
+    private final long ttlNanos;
+    private final LinkedHashMap<Long, Entrada> entradas;
+
+    // Estado de trabajo del Dijkstra de invalidación
+    private final MonticuloIndexado cola = new MonticuloIndexado();
+    private int[] distancias = new int[0];
+    private int[] tocados = new int[0];
+    private int cantidadTocados;
+
+    // Para análisis de rendimiento
+    private long aciertos = 0;
+    private long fallos = 0;
+    private long invalidaciones = 0;
+    private long expiraciones = 0;
+    private long operaciones = 0;
+
+    /**
+     * Entrada de la caché: recomendaciones calculadas y su radio de dependencia.
+     */
+    private static class Entrada {
+        final int usuario;
+        final List<RecomendacionAmigo> recomendaciones;
+        final int radio;
+        final long creacion;
+
+        Entrada(int usuario, List<RecomendacionAmigo> recomendaciones, int radio, long creacion) {
+            this.usuario = usuario;
+            this.recomendaciones = recomendaciones;
+            this.radio = radio;
+            this.creacion = creacion;
+        }
+    }
+
+    /**
+     * Crea la caché y la registra como oyente del grafo.
+     *
+     * @param grafo red social
+     * @param capacidad cantidad máxima de entradas
+     * @param ttlMillis vida máxima de una entrada en milisegundos (0 o menos: sin vencimiento)
+     */
+    public CacheRecomendaciones(Grafo grafo, int capacidad, long ttlMillis) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        }
+        this.grafo = grafo;
+        this.ttlNanos = ttlMillis > 0 ? ttlMillis * 1_000_000L : 0;
+        this.entradas = new LinkedHashMap<Long, Entrada>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entrada> mayor) {
+                return size() > capacidad;
+            }
+        };
+        grafo.agregarOyente(this);
+    }
+
+    /**
+     * Devuelve las recomendaciones del usuario, calculándolas solo si no están en
+     * la caché o si la entrada venció.
+     *
+     * @param usuario usuario para quien recomendar
+     * @param n número de recomendaciones
+     * @return lista (no modificable) igual a la de RecomendadorAmigos.recomendar
+     */
+    public synchronized List<RecomendacionAmigo> recomendar(Usuario usuario, int n) {
+        int indice = grafo.getIndice(usuario);
+        if (indice < 0 || n <= 0) {
+            return Collections.emptyList();
+        }
+
+        long clave = ((long) indice << 32) | n;
+        long ahora = System.nanoTime();
+        Entrada entrada = entradas.get(clave);
+        if (entrada != null) {
+            if (ttlNanos == 0 || ahora - entrada.creacion < ttlNanos) {
+                aciertos++;
+                return entrada.recomendaciones;
+            }
+            entradas.remove(clave);
+            expiraciones++;
+        }
+
+        fallos++;
+        List<RecomendacionAmigo> recomendaciones = Collections.unmodifiableList(
+                recomendador.recomendar(grafo, usuario, n));
+        int radio = recomendaciones.size() < n
+                ? Integer.MAX_VALUE
+                : recomendaciones.get(n - 1).getDistancia();
+        entradas.put(clave, new Entrada(indice, recomendaciones, radio, ahora));
+        return recomendaciones;
+    }
+
+    @Override
+    public synchronized void amistadAgregada(Usuario u1, Usuario u2, int peso) {
+        invalidar(u1, u2);
+    }
+
+    @Override
+    public synchronized void amistadEliminada(Usuario u1, Usuario u2, int peso) {
+        invalidar(u1, u2);
+    }
+
+    @Override
+    public synchronized void pesoModificado(Usuario u1, Usuario u2, int pesoAnterior, int pesoNuevo) {
+        if (pesoAnterior != pesoNuevo) {
+            invalidar(u1, u2);
+        }
+    }
+
+    /**
+     * Invalida las entradas cuyo radio alcanza a alguno de los extremos de la arista.
+     */
+    private void invalidar(Usuario u1, Usuario u2) {
+        if (entradas.isEmpty()) {
+            return;
+        }
+
+        int radioMaximo = 0;
+        for (Entrada entrada : entradas.values()) {
+            radioMaximo = Math.max(radioMaximo, entrada.radio);
+        }
+
+        distanciasDesdeArista(grafo.getIndice(u1), grafo.getIndice(u2), radioMaximo);
+
+        Iterator<Entrada> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            Entrada entrada = it.next();
+            int distancia = distancias[entrada.usuario];
+            if (distancia != Integer.MAX_VALUE && distancia <= entrada.radio) {
+                it.remove();
+                invalidaciones++;
+            }
+        }
+    }
+
+    /**
+     * Dijkstra con dos orígenes (los extremos de la arista) que se detiene al
+     * superar el radio. Deja en 'distancias' min(d(a, x), d(b, x)) para los
+     * usuarios a distancia <= radio e infinito para el resto.
+     */
+    private void distanciasDesdeArista(int a, int b, int radio) {
+        int n = grafo.getNumeroVertices();
+        if (distancias.length < n) {
+            distancias = new int[n];
+            Arrays.fill(distancias, Integer.MAX_VALUE);
+            tocados = new int[n];
+        } else {
+            for (int i = 0; i < cantidadTocados; i++) {
+                distancias[tocados[i]] = Integer.MAX_VALUE;
+            }
+        }
+        cantidadTocados = 0;
+        cola.reiniciar(n);
+
+        for (int origen : new int[]{a, b}) {
+            tocados[cantidadTocados++] = origen;
+            distancias[origen] = 0;
+            cola.actualizar(origen, 0);
+        }
+
+        while (!cola.estaVacia() && cola.getClaveMinima() <= radio) {
+            int actual = cola.extraerMin();
+            operaciones++;
+            int distanciaActual = distancias[actual];
+
+            for (int k = 0; k < grafo.getGrado(actual); k++) {
+                int vecino = grafo.getVecino(actual, k);
+                long nuevaDistancia = (long) distanciaActual + grafo.getPesoVecino(actual, k);
+                if (nuevaDistancia < distancias[vecino] && nuevaDistancia <= radio) {
+                    if (distancias[vecino] == Integer.MAX_VALUE) {
+                        tocados[cantidadTocados++] = vecino;
+                    }
+                    distancias[vecino] = (int) nuevaDistancia;
+                    cola.actualizar(vecino, (int) nuevaDistancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Vacía la caché (las métricas se conservan).
+     */
+    public synchronized void limpiar() {
+        entradas.clear();
+    }
+
+    /**
+     * Deja de escuchar los cambios del grafo. La caché no debe usarse después.
+     */
+    public void cerrar() {
+        grafo.quitarOyente(this);
+    }
+
+    // Getters para análisis de rendimiento
+
+    public synchronized int getTamanio() {
+        return entradas.size();
+    }
+
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    public synchronized long getFallos() {
+        return fallos;
+    }
+
+    /**
+     * @return proporción de consultas respondidas desde la caché (0 si no hubo consultas)
+     */
+    public synchronized double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    /**
+     * @return entradas descartadas por modificaciones del grafo
+     */
+    public synchronized long getInvalidaciones() {
+        return invalidaciones;
+    }
+
+    /**
+     * @return entradas descartadas por superar el TTL
+     */
+    public synchronized long getExpiraciones() {
+        return expiraciones;
+    }
+
+    /**
+     * @return usuarios asentados por los Dijkstra de invalidación
+     */
+    public synchronized long getOperaciones() {
+        return operaciones;
+    }
+}
@@ -0,0 +1,56 @@
+package algoritmos.greedy;
+
+import java.util.PriorityQueue;
+
+/**
+ * Cola de prioridad con PriorityQueue (heap binario) y borrado perezoso.
+ *
+ * Es la implementación original de Dijkstra: cada relajación agrega un nodo nuevo
+ * y las entradas viejas se descartan al extraerlas. La cola puede crecer hasta
+ * O(E) entradas. Se conserva para comparar contra las otras colas.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class ColaBinaria implements ColaPrioridad {
+
+    /**
+     * Nodo de Dijkstra: índice denso del usuario y su distancia acumulada desde el origen.
+     */
+    private static class NodoDijkstra implements Comparable<NodoDijkstra> {
+        int indice;
+        int distancia;
+
+        public NodoDijkstra(int indice, int distancia) {
+            this.indice = indice;
+            this.distancia = distancia;
+        }
+
+        @Override
+        public int compareTo(NodoDijkstra otro) {
+            return Integer.compare(this.distancia, otro.distancia);
+        }
+    }
+
+    private final PriorityQueue<NodoDijkstra> cola = new PriorityQueue<>();
+
+    @Override
+    public void reiniciar(int n) {
+        cola.clear();
+    }
+
+    @Override
+    public boolean estaVacia() {
+        return cola.isEmpty();
+    }
+
+    @Override
+    public void actualizar(int indice, int distancia) {
+        cola.offer(new NodoDijkstra(indice, distancia));
+    }
+
+    @Override
+    public int extraerMin() {
+        return cola.poll().indice;
+    }
+}
@@ -0,0 +1,150 @@
+package algoritmos.greedy;
+
+import java.util.Arrays;
+
+/**
+ * Cola de buckets de Dial para Dijkstra con pesos enteros acotados.
+ *
+ * Si todos los pesos están entre 0 y C, en cualquier momento de Dijkstra las
+ * distancias pendientes caen en el rango [mínimo, mínimo + C]. Alcanza entonces con
+ * un arreglo circular de C + 1 buckets: la distancia d va al bucket d % (C + 1) y
+ * extraer el mínimo es avanzar hasta el próximo bucket no vacío. No hay
+ * comparaciones entre claves.
+ *
+ * Cada bucket es una lista doblemente enlazada sobre arreglos de enteros
+ * (siguiente/anterior por índice de usuario), así decrease-key es mover un
+ * usuario de bucket en O(1) y no se reserva memoria por operación.
+ *
+ * Con los pesos de Grafo.pesoDesdeInteracciones (1..100) alcanza con 101 buckets.
+ *
+ * COMPLEJIDAD de Dijkstra con esta cola: O(V + E + D), con D = distancia máxima
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class ColaBuckets implements ColaPrioridad {
+    private static final int VACIO = -1;
+
+    private final int pesoMaximo;
+    private final int[] cabezas;
+    private int[] siguiente;
+    private int[] anterior;
+    private int[] claves;
+    private boolean[] encolados;
+    private int tamanio;
+    private int minimo;
+    private boolean sinExtraer;
+
+    /**
+     * @param pesoMaximo cota del mayor peso de arista (C)
+     */
+    public ColaBuckets(int pesoMaximo) {
+        if (pesoMaximo < 0) {
+            throw new IllegalArgumentException("El peso máximo no puede ser negativo");
+        }
+        this.pesoMaximo = pesoMaximo;
+        this.cabezas = new int[pesoMaximo + 1];
+        Arrays.fill(cabezas, VACIO);
+        this.siguiente = new int[0];
+        this.anterior = new int[0];
+        this.claves = new int[0];
+        this.encolados = new boolean[0];
+    }
+
+    @Override
+    public void reiniciar(int n) {
+        if (encolados.length < n) {
+            siguiente = new int[n];
+            anterior = new int[n];
+            claves = new int[n];
+            encolados = new boolean[n];
+        } else if (tamanio > 0) {
+            // Vaciar solo los buckets que quedaron con usuarios
+            for (int b = 0; b < cabezas.length; b++) {
+                for (int u = cabezas[b]; u != VACIO; u = siguiente[u]) {
+                    encolados[u] = false;
+                }
+            }
+        }
+        Arrays.fill(cabezas, VACIO);
+        tamanio = 0;
+        minimo = 0;
+        sinExtraer = true;
+    }
+
+    @Override
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException si la distancia cae fuera de [mínimo, mínimo + C]
+     *         (el grafo tiene un peso mayor que la cota o negativo)
+     */
+    @Override
+    public void actualizar(int indice, int distancia) {
+        if (sinExtraer) {
+            // Antes de la primera extracción el mínimo es la menor clave insertada
+            minimo = tamanio == 0 ? distancia : Math.min(minimo, distancia);
+        }
+        if (distancia < minimo || distancia - minimo > pesoMaximo) {
+            throw new IllegalArgumentException(
+                    "Distancia fuera del rango de buckets: peso mayor a " + pesoMaximo + " o negativo");
+        }
+
+        if (encolados[indice]) {
+            if (distancia >= claves[indice]) {
+                return;
+            }
+            desenlazar(indice);
+        } else {
+            encolados[indice] = true;
+            tamanio++;
+        }
+
+        // Enlazar al principio del bucket correspondiente
+        claves[indice] = distancia;
+        int bucket = distancia % cabezas.length;
+        int cabeza = cabezas[bucket];
+        siguiente[indice] = cabeza;
+        anterior[indice] = VACIO;
+        if (cabeza != VACIO) {
+            anterior[cabeza] = indice;
+        }
+        cabezas[bucket] = indice;
+    }
+
+    @Override
+    public int extraerMin() {
+        // Avanzar hasta el próximo bucket no vacío (a lo sumo C + 1 pasos)
+        while (cabezas[minimo % cabezas.length] == VACIO) {
+            minimo++;
+        }
+        int indice = cabezas[minimo % cabezas.length];
+        sinExtraer = false;
+        desenlazar(indice);
+        encolados[indice] = false;
+        tamanio--;
+        return indice;
+    }
+
+    private void desenlazar(int indice) {
+        int previo = anterior[indice];
+        int proximo = siguiente[indice];
+        if (previo != VACIO) {
+            siguiente[previo] = proximo;
+        } else {
+            cabezas[claves[indice] % cabezas.length] = proximo;
+        }
+        if (proximo != VACIO) {
+            anterior[proximo] = previo;
+        }
+    }
+
+    /**
+     * @return cota de peso con la que se creó la cola
+     */
+    public int getPesoMaximo() {
+        return pesoMaximo;
+    }
+}
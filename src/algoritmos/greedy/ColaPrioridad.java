@@ -0,0 +1,43 @@
+package algoritmos.greedy;
+
+/**
+ * Cola de prioridad de índices de usuario ordenada por distancia, usada por Dijkstra.
+ *
+ * Las implementaciones pueden ser exactas (cada índice aparece una sola vez y
+ * actualizar hace decrease-key) o perezosas (actualizar agrega una entrada nueva y
+ * las viejas quedan en la cola). En el segundo caso extraerMin puede devolver un
+ * índice ya extraído: Dijkstra lo descarta con su arreglo de visitados.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public interface ColaPrioridad {
+
+    /**
+     * Vacía la cola y la prepara para índices 0..n-1.
+     * Reutiliza la memoria reservada si alcanza.
+     *
+     * @param n cantidad de usuarios del grafo
+     */
+    void reiniciar(int n);
+
+    /**
+     * @return true si no quedan índices por extraer
+     */
+    boolean estaVacia();
+
+    /**
+     * Inserta el índice con la distancia dada o, si ya estaba, baja su distancia.
+     *
+     * @param indice índice del usuario
+     * @param distancia nueva distancia (menor que la anterior)
+     */
+    void actualizar(int indice, int distancia);
+
+    /**
+     * Extrae el índice de menor distancia.
+     *
+     * @return índice extraído
+     */
+    int extraerMin();
+}
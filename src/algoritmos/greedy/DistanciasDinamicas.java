@@ -0,0 +1,444 @@
+package algoritmos.greedy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import modelo.Grafo;
+import modelo.OyenteGrafo;
+import modelo.Usuario;
+
+/**
+ * Distancias mínimas dinámicas para un conjunto de usuarios FIJADOS (los más
+ * activos), reparadas en forma incremental con cada cambio de amistades, al
+ * estilo de Ramalingam-Reps.
+ *
+ * Por cada usuario fijado se mantienen los arreglos de distancias y predecesores
+ * (un árbol de caminos mínimos). En lugar de volver a correr Dijkstra completo
+ * después de cada cambio, se escuchan los eventos del grafo (OyenteGrafo) y se
+ * repara solo la parte afectada:
+ * <ul>
+ *   <li>Amistad nueva o peso menor en (a, b): si d(a) + w mejora d(b) (o al
+ *       revés), se propaga la mejora con Dijkstra desde ese extremo. Solo se
+ *       visitan los usuarios cuya distancia baja.</li>
+ *   <li>Amistad eliminada o peso mayor: si la arista no está en el árbol ninguna
+ *       distancia cambia. Si está, solo cambia el subárbol que cuelga de ella: se
+ *       invalida, cada usuario del subárbol toma la mejor distancia que le ofrecen
+ *       sus vecinos de afuera, y desde ahí se repara con Dijkstra.</li>
+ * </ul>
+ * El costo de una actualización depende de cuántos usuarios cambian de distancia
+ * y no del tamaño de la red.
+ *
+ * Solo se ven los cambios hechos con agregarAmistad, eliminarAmistad y
+ * setPesoArista de Grafo; Arista.setPeso modifica una sola dirección, no es un
+ * cambio de amistad y no se notifica.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class DistanciasDinamicas implements OyenteGrafo {
+    private static final int SIN_PREDECESOR = -1;
+
+    private final Grafo grafo;
+
+    // Árboles de caminos mínimos por índice del usuario fijado
+    private final Map<Integer, Arbol> arboles = new LinkedHashMap<>();
+
+    // Estado de trabajo compartido por todas las reparaciones
+    private final MonticuloIndexado cola = new MonticuloIndexado();
+    private boolean[] afectados = new boolean[0];
+    private int[] subarbol = new int[0];
+
+    // Para análisis de rendimiento
+    private long operaciones = 0;
+    private long tiempoEjecucion = 0;
+    private long usuariosReparados = 0;
+
+    /**
+     * Distancias y predecesores desde un usuario fijado.
+     */
+    private static class Arbol {
+        final int origen;
+        int[] distancias;
+        int[] predecesores;
+
+        Arbol(int origen, int n) {
+            this.origen = origen;
+            this.distancias = new int[n];
+            this.predecesores = new int[n];
+            Arrays.fill(distancias, Integer.MAX_VALUE);
+            Arrays.fill(predecesores, SIN_PREDECESOR);
+        }
+    }
+
+    /**
+     * Crea el componente y lo registra como oyente del grafo.
+     *
+     * @param grafo red social
+     */
+    public DistanciasDinamicas(Grafo grafo) {
+        this.grafo = grafo;
+        grafo.agregarOyente(this);
+    }
+
+    /**
+     * Fija un usuario: calcula sus distancias con Dijkstra y las mantiene
+     * actualizadas desde ese momento.
+     *
+     * @param usuario usuario a fijar
+     * @return false si el usuario no pertenece al grafo
+     */
+    public synchronized boolean fijar(Usuario usuario) {
+        int origen = grafo.getIndice(usuario);
+        if (origen < 0) {
+            return false;
+        }
+        if (arboles.containsKey(origen)) {
+            return true;
+        }
+
+        long inicio = System.nanoTime();
+        operaciones = 0;
+        usuariosReparados = 0;
+
+        int n = grafo.getNumeroVertices();
+        ajustarTamanio();
+        Arbol arbol = new Arbol(origen, n);
+        arbol.distancias[origen] = 0;
+        cola.reiniciar(n);
+        cola.actualizar(origen, 0);
+        propagar(arbol);
+        arboles.put(origen, arbol);
+
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return true;
+    }
+
+    /**
+     * Deja de mantener las distancias de un usuario.
+     *
+     * @param usuario usuario fijado
+     * @return true si estaba fijado
+     */
+    public synchronized boolean liberar(Usuario usuario) {
+        int origen = grafo.getIndice(usuario);
+        return origen >= 0 && arboles.remove(origen) != null;
+    }
+
+    public synchronized boolean estaFijado(Usuario usuario) {
+        int origen = grafo.getIndice(usuario);
+        return origen >= 0 && arboles.containsKey(origen);
+    }
+
+    /**
+     * Deja de escuchar los cambios del grafo. No debe usarse después.
+     */
+    public void cerrar() {
+        grafo.quitarOyente(this);
+    }
+
+    /**
+     * @param origen usuario fijado
+     * @param destino usuario de destino
+     * @return distancia mínima actual, o Integer.MAX_VALUE si no hay camino
+     * @throws IllegalArgumentException si el origen no está fijado
+     */
+    public synchronized int getDistancia(Usuario origen, Usuario destino) {
+        Arbol arbol = getArbol(origen);
+        int indice = grafo.getIndice(destino);
+        if (indice < 0 || indice >= arbol.distancias.length) {
+            return Integer.MAX_VALUE;
+        }
+        return arbol.distancias[indice];
+    }
+
+    /**
+     * Reconstruye el camino mínimo actual siguiendo los predecesores.
+     *
+     * @param origen usuario fijado
+     * @param destino usuario de destino
+     * @return ruta desde el origen hasta el destino, vacía si no hay camino
+     * @throws IllegalArgumentException si el origen no está fijado
+     */
+    public synchronized List<Usuario> getRuta(Usuario origen, Usuario destino) {
+        Arbol arbol = getArbol(origen);
+        int indice = grafo.getIndice(destino);
+        if (indice < 0 || indice >= arbol.distancias.length
+                || arbol.distancias[indice] == Integer.MAX_VALUE) {
+            return new ArrayList<>();
+        }
+        return reconstruirRuta(arbol, indice);
+    }
+
+    /**
+     * Top N de recomendaciones de un usuario fijado, sin correr Dijkstra: se leen
+     * las distancias mantenidas. Mismos candidatos y distancias que
+     * RecomendadorAmigos.recomendar (a igual distancia, por índice); con caminos
+     * empatados la ruta puede ser otra de igual largo.
+     *
+     * COMPLEJIDAD: O(V log N)
+     *
+     * @param usuario usuario fijado
+     * @param n número de recomendaciones
+     * @return lista de recomendaciones ordenadas por cercanía
+     * @throws IllegalArgumentException si el usuario no está fijado
+     */
+    public synchronized List<RecomendacionAmigo> recomendar(Usuario usuario, int n) {
+        Arbol arbol = getArbol(usuario);
+        if (n <= 0) {
+            return new ArrayList<>();
+        }
+        int[] distancias = arbol.distancias;
+
+        // Excluir al usuario y a sus amigos directos
+        boolean[] excluidos = afectados;
+        excluidos[arbol.origen] = true;
+        for (int k = 0; k < grafo.getGrado(arbol.origen); k++) {
+            excluidos[grafo.getVecino(arbol.origen, k)] = true;
+        }
+
+        // Máximo-montículo con los N mejores (distancia, índice) vistos
+        PriorityQueue<Integer> mejores = new PriorityQueue<>(n + 1,
+                (i, j) -> distancias[i] != distancias[j]
+                        ? Integer.compare(distancias[j], distancias[i])
+                        : Integer.compare(j, i));
+        for (int i = 0; i < distancias.length; i++) {
+            if (distancias[i] == Integer.MAX_VALUE || excluidos[i]) {
+                continue;
+            }
+            mejores.add(i);
+            if (mejores.size() > n) {
+                mejores.poll();
+            }
+        }
+
+        excluidos[arbol.origen] = false;
+        for (int k = 0; k < grafo.getGrado(arbol.origen); k++) {
+            excluidos[grafo.getVecino(arbol.origen, k)] = false;
+        }
+
+        List<RecomendacionAmigo> recomendaciones = new ArrayList<>();
+        while (!mejores.isEmpty()) {
+            int candidato = mejores.poll();
+            recomendaciones.add(new RecomendacionAmigo(grafo.getUsuario(candidato),
+                    distancias[candidato], reconstruirRuta(arbol, candidato)));
+        }
+        Collections.reverse(recomendaciones);
+        return recomendaciones;
+    }
+
+    @Override
+    public synchronized void amistadAgregada(Usuario u1, Usuario u2, int peso) {
+        actualizar(u1, u2, Integer.MAX_VALUE, peso);
+    }
+
+    @Override
+    public synchronized void amistadEliminada(Usuario u1, Usuario u2, int peso) {
+        actualizar(u1, u2, peso, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public synchronized void pesoModificado(Usuario u1, Usuario u2, int pesoAnterior, int pesoNuevo) {
+        actualizar(u1, u2, pesoAnterior, pesoNuevo);
+    }
+
+    /**
+     * Repara todos los árboles después de que la arista (u1, u2) pasó de
+     * pesoAnterior a pesoNuevo (Integer.MAX_VALUE = no existe).
+     */
+    private void actualizar(Usuario u1, Usuario u2, int pesoAnterior, int pesoNuevo) {
+        if (arboles.isEmpty() || pesoAnterior == pesoNuevo) {
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        operaciones = 0;
+        usuariosReparados = 0;
+        ajustarTamanio();
+
+        int a = grafo.getIndice(u1);
+        int b = grafo.getIndice(u2);
+        for (Arbol arbol : arboles.values()) {
+            if (pesoNuevo < pesoAnterior) {
+                mejorar(arbol, a, b, pesoNuevo);
+            } else if (arbol.predecesores[b] == a) {
+                reparar(arbol, b);
+            } else if (arbol.predecesores[a] == b) {
+                reparar(arbol, a);
+            }
+            // Otra arista que se elimina o encarece fuera del árbol: nada cambia
+        }
+
+        tiempoEjecucion = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Arista nueva o más barata: propagar la mejora desde el extremo que mejora.
+     */
+    private void mejorar(Arbol arbol, int a, int b, int peso) {
+        int[] distancias = arbol.distancias;
+        cola.reiniciar(grafo.getNumeroVertices());
+
+        if (distancias[a] != Integer.MAX_VALUE && distancias[a] + peso < distancias[b]) {
+            distancias[b] = distancias[a] + peso;
+            arbol.predecesores[b] = a;
+            cola.actualizar(b, distancias[b]);
+        } else if (distancias[b] != Integer.MAX_VALUE && distancias[b] + peso < distancias[a]) {
+            distancias[a] = distancias[b] + peso;
+            arbol.predecesores[a] = b;
+            cola.actualizar(a, distancias[a]);
+        }
+        propagar(arbol);
+    }
+
+    /**
+     * Arista del árbol eliminada o más cara: recalcular el subárbol de 'raiz'.
+     */
+    private void reparar(Arbol arbol, int raiz) {
+        int[] distancias = arbol.distancias;
+        int[] predecesores = arbol.predecesores;
+
+        // 1. Juntar el subárbol: los hijos de x son los vecinos cuyo predecesor es x
+        int cantidad = 0;
+        subarbol[cantidad++] = raiz;
+        afectados[raiz] = true;
+        for (int i = 0; i < cantidad; i++) {
+            int x = subarbol[i];
+            for (int k = 0; k < grafo.getGrado(x); k++) {
+                operaciones++;
+                int y = grafo.getVecino(x, k);
+                if (predecesores[y] == x && !afectados[y]) {
+                    afectados[y] = true;
+                    subarbol[cantidad++] = y;
+                }
+            }
+        }
+        for (int i = 0; i < cantidad; i++) {
+            distancias[subarbol[i]] = Integer.MAX_VALUE;
+            predecesores[subarbol[i]] = SIN_PREDECESOR;
+        }
+
+        // 2. Cada afectado toma la mejor distancia que le ofrecen los no afectados
+        cola.reiniciar(grafo.getNumeroVertices());
+        for (int i = 0; i < cantidad; i++) {
+            int x = subarbol[i];
+            for (int k = 0; k < grafo.getGrado(x); k++) {
+                operaciones++;
+                int y = grafo.getVecino(x, k);
+                if (afectados[y] || distancias[y] == Integer.MAX_VALUE) {
+                    continue;
+                }
+                int candidata = distancias[y] + grafo.getPesoVecino(x, k);
+                if (candidata < distancias[x]) {
+                    distancias[x] = candidata;
+                    predecesores[x] = y;
+                    cola.actualizar(x, candidata);
+                }
+            }
+        }
+        for (int i = 0; i < cantidad; i++) {
+            afectados[subarbol[i]] = false;
+        }
+
+        // 3. Dijkstra desde ahí: fuera del subárbol ninguna distancia puede bajar
+        propagar(arbol);
+    }
+
+    /**
+     * Dijkstra a partir de lo que haya en la cola: relaja solo mejoras estrictas,
+     * así que visita únicamente usuarios cuya distancia cambia.
+     */
+    private void propagar(Arbol arbol) {
+        int[] distancias = arbol.distancias;
+        int[] predecesores = arbol.predecesores;
+
+        while (!cola.estaVacia()) {
+            int actual = cola.extraerMin();
+            operaciones++;
+            usuariosReparados++;
+            int distanciaActual = distancias[actual];
+
+            for (int k = 0; k < grafo.getGrado(actual); k++) {
+                operaciones++;
+                int vecino = grafo.getVecino(actual, k);
+                int nuevaDistancia = distanciaActual + grafo.getPesoVecino(actual, k);
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    predecesores[vecino] = actual;
+                    cola.actualizar(vecino, nuevaDistancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Agranda los arreglos si se agregaron usuarios (agregarUsuario no se notifica:
+     * un usuario nuevo empieza sin amistades, a distancia infinita).
+     */
+    private void ajustarTamanio() {
+        int n = grafo.getNumeroVertices();
+        if (afectados.length < n) {
+            afectados = new boolean[n];
+            subarbol = new int[n];
+        }
+        for (Arbol arbol : arboles.values()) {
+            int anterior = arbol.distancias.length;
+            if (anterior < n) {
+                arbol.distancias = Arrays.copyOf(arbol.distancias, n);
+                arbol.predecesores = Arrays.copyOf(arbol.predecesores, n);
+                Arrays.fill(arbol.distancias, anterior, n, Integer.MAX_VALUE);
+                Arrays.fill(arbol.predecesores, anterior, n, SIN_PREDECESOR);
+            }
+        }
+    }
+
+    private Arbol getArbol(Usuario usuario) {
+        int indice = grafo.getIndice(usuario);
+        Arbol arbol = indice >= 0 ? arboles.get(indice) : null;
+        if (arbol == null) {
+            throw new IllegalArgumentException("El usuario no está fijado: " + usuario);
+        }
+        ajustarTamanio();
+        return arbol;
+    }
+
+    private List<Usuario> reconstruirRuta(Arbol arbol, int destino) {
+        List<Usuario> ruta = new ArrayList<>();
+        for (int actual = destino; actual != SIN_PREDECESOR; actual = arbol.predecesores[actual]) {
+            ruta.add(grafo.getUsuario(actual));
+        }
+        Collections.reverse(ruta);
+        return ruta;
+    }
+
+    // Getters para análisis de rendimiento
+
+    /**
+     * @return operaciones de la última actualización (o del último fijar)
+     */
+    public synchronized long getOperaciones() {
+        return operaciones;
+    }
+
+    public synchronized long getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+
+    public synchronized double getTiempoEjecucionMs() {
+        return tiempoEjecucion / 1_000_000.0;
+    }
+
+    /**
+     * @return usuarios que se volvieron a asentar en la última actualización
+     */
+    public synchronized long getUsuariosReparados() {
+        return usuariosReparados;
+    }
+
+    public synchronized int getCantidadFijados() {
+        return arboles.size();
+    }
+}
@@ -0,0 +1,286 @@
+package algoritmos.greedy;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import modelo.GrafoIndexado;
+
+/**
+ * Índice de landmarks (ALT: A*, Landmarks, desigualdad Triangular) para acelerar
+ * consultas de distancia entre dos usuarios.
+ *
+ * Se eligen K usuarios "landmark" (los de mayor grado) y se precalcula con Dijkstra
+ * la distancia de cada landmark a todos los usuarios. Por desigualdad triangular,
+ * para cualquier landmark L:
+ * <pre>
+ *   d(u, v) >= |d(L, u) - d(L, v)|
+ * </pre>
+ * El máximo sobre los K landmarks es una cota inferior de la distancia real que
+ * guía a A* hacia el destino (ver RecomendadorAmigos.distanciaEntre con landmarks).
+ *
+ * Memoria: K × V enteros. Construcción: K ejecuciones de Dijkstra.
+ *
+ * Las cotas solo valen para el grafo sobre el que se calcularon. El índice guarda
+ * una HUELLA del contenido (usuarios con su índice y aristas con su peso) y queda
+ * VINCULADO a un grafo concreto: al construirlo, al que recibió, y al cargarlo de
+ * disco, a ninguno hasta llamar a vincular, que compara la huella una sola vez.
+ * Cada consulta verifica solo que sea el mismo grafo y que su versión no haya
+ * cambiado (ver estaActualizado), en O(1).
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class IndiceLandmarks {
+    private static final int MAGICO = 0x52534C4D; // "RSLM"
+    private static final int VERSION_FORMATO = 1;
+
+    private final int[] landmarks;
+    private final int[][] distancias;
+    private final long huella;
+    private final int numeroVertices;
+
+    // Grafo vinculado y su versión al vincularlo (null: sin vincular)
+    private volatile Vinculo vinculo;
+
+    private static class Vinculo {
+        final GrafoIndexado grafo;
+        final long version;
+
+        Vinculo(GrafoIndexado grafo) {
+            this.grafo = grafo;
+            this.version = grafo.getVersion();
+        }
+    }
+
+    private IndiceLandmarks(int[] landmarks, int[][] distancias, long huella, int numeroVertices) {
+        this.landmarks = landmarks;
+        this.distancias = distancias;
+        this.huella = huella;
+        this.numeroVertices = numeroVertices;
+    }
+
+    /**
+     * Construye el índice eligiendo como landmarks a los K usuarios de mayor grado.
+     *
+     * Complejidad: O(V log V) para elegir + K × Dijkstra
+     *
+     * @param grafo red social
+     * @param cantidad cantidad de landmarks (K)
+     * @return índice construido
+     */
+    public static IndiceLandmarks construir(GrafoIndexado grafo, int cantidad) {
+        int n = grafo.getNumeroVertices();
+        int k = Math.max(0, Math.min(cantidad, n));
+
+        // Elegir los K usuarios de mayor grado (a igual grado, menor índice)
+        Integer[] porGrado = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            porGrado[i] = i;
+        }
+        Arrays.sort(porGrado, Comparator.<Integer>comparingInt(i -> -grafo.getGrado(i))
+                .thenComparingInt(i -> i));
+
+        int[] landmarks = new int[k];
+        int[][] distancias = new int[k][];
+        RecomendadorAmigos recomendador = new RecomendadorAmigos();
+        for (int l = 0; l < k; l++) {
+            landmarks[l] = porGrado[l];
+            distancias[l] = recomendador.calcularDistancias(grafo, landmarks[l]);
+        }
+
+        IndiceLandmarks indice = new IndiceLandmarks(landmarks, distancias, calcularHuella(grafo), n);
+        indice.vinculo = new Vinculo(grafo);
+        return indice;
+    }
+
+    /**
+     * Huella del contenido del grafo: suma de un hash por usuario (índice, id) y
+     * uno por arista dirigida (índice, vecino, peso). La suma no depende del orden
+     * de los vecinos, así que un Grafo y su GrafoCSR o snapshot mapeado (que los
+     * ordenan distinto) tienen la misma huella.
+     *
+     * Complejidad: O(V + E)
+     */
+    private static long calcularHuella(GrafoIndexado grafo) {
+        int n = grafo.getNumeroVertices();
+        long huella = mezclar(n);
+        for (int i = 0; i < n; i++) {
+            huella += mezclar(((long) i << 32) | (grafo.getUsuario(i).getId() & 0xFFFFFFFFL));
+            for (int k = 0; k < grafo.getGrado(i); k++) {
+                long arista = ((long) i << 32) | grafo.getVecino(i, k);
+                huella += mezclar(mezclar(arista) ^ grafo.getPesoVecino(i, k));
+            }
+        }
+        return huella;
+    }
+
+    /**
+     * Mezclador de 64 bits (finalizador de SplitMix64).
+     */
+    private static long mezclar(long x) {
+        x ^= x >>> 30;
+        x *= 0xBF58476D1CE4E5B9L;
+        x ^= x >>> 27;
+        x *= 0x94D049BB133111EBL;
+        return x ^ (x >>> 31);
+    }
+
+    /**
+     * Cota inferior de la distancia entre dos usuarios.
+     *
+     * @param u índice del primer usuario
+     * @param v índice del segundo usuario
+     * @return cota inferior de d(u, v), o Integer.MAX_VALUE si algún landmark
+     *         demuestra que no están conectados
+     */
+    public int cotaInferior(int u, int v) {
+        int cota = 0;
+        for (int[] desdeLandmark : distancias) {
+            int du = desdeLandmark[u];
+            int dv = desdeLandmark[v];
+            if (du == Integer.MAX_VALUE || dv == Integer.MAX_VALUE) {
+                if (du != dv) {
+                    // Uno está en la componente del landmark y el otro no
+                    return Integer.MAX_VALUE;
+                }
+                continue;
+            }
+            cota = Math.max(cota, Math.abs(du - dv));
+        }
+        return cota;
+    }
+
+    /**
+     * Vincula el índice a un grafo si tiene el mismo contenido que aquel sobre el
+     * que se construyó (misma huella). Reemplaza el vínculo anterior.
+     *
+     * Complejidad: O(V + E)
+     *
+     * @param grafo grafo a vincular
+     * @return true si el contenido coincide y el índice quedó vinculado
+     */
+    public boolean vincular(GrafoIndexado grafo) {
+        if (grafo.getNumeroVertices() != numeroVertices || calcularHuella(grafo) != huella) {
+            return false;
+        }
+        vinculo = new Vinculo(grafo);
+        return true;
+    }
+
+    /**
+     * Verifica que el índice pueda usarse con el grafo: debe ser el grafo vinculado
+     * y no haber cambiado desde entonces. Un índice desactualizado daría cotas
+     * incorrectas.
+     *
+     * Complejidad: O(1)
+     *
+     * @param grafo grafo a consultar
+     * @return true si el índice puede usarse con ese grafo
+     */
+    public boolean estaActualizado(GrafoIndexado grafo) {
+        Vinculo actual = vinculo;
+        return actual != null && actual.grafo == grafo && grafo.getVersion() == actual.version;
+    }
+
+    /**
+     * @return grafo vinculado, o null si no hay ninguno (índice recién cargado)
+     */
+    public GrafoIndexado getGrafo() {
+        Vinculo actual = vinculo;
+        return actual != null ? actual.grafo : null;
+    }
+
+    /**
+     * Guarda el índice en un archivo binario.
+     *
+     * @param archivo ruta de destino (se sobrescribe)
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public void guardar(Path archivo) throws IOException {
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(archivo)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION_FORMATO);
+            salida.writeLong(huella);
+            salida.writeInt(numeroVertices);
+            salida.writeInt(landmarks.length);
+            for (int l = 0; l < landmarks.length; l++) {
+                salida.writeInt(landmarks[l]);
+                for (int distancia : distancias[l]) {
+                    salida.writeInt(distancia);
+                }
+            }
+        }
+    }
+
+    /**
+     * Carga un índice guardado con guardar. Queda sin vincular: hay que llamar a
+     * vincular con el grafo antes de usarlo en consultas.
+     *
+     * @param archivo ruta del índice
+     * @return índice cargado
+     * @throws IOException si el archivo no existe o no tiene el formato esperado
+     */
+    public static IndiceLandmarks cargar(Path archivo) throws IOException {
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                Files.newInputStream(archivo)))) {
+            if (entrada.readInt() != MAGICO) {
+                throw new IOException("El archivo no es un índice de landmarks");
+            }
+            int version = entrada.readInt();
+            if (version != VERSION_FORMATO) {
+                throw new IOException("Versión de índice no soportada: " + version);
+            }
+            long huella = entrada.readLong();
+            int n = entrada.readInt();
+            int k = entrada.readInt();
+
+            int[] landmarks = new int[k];
+            int[][] distancias = new int[k][n];
+            for (int l = 0; l < k; l++) {
+                landmarks[l] = entrada.readInt();
+                for (int i = 0; i < n; i++) {
+                    distancias[l][i] = entrada.readInt();
+                }
+            }
+            return new IndiceLandmarks(landmarks, distancias, huella, n);
+        }
+    }
+
+    /**
+     * @return índices de los usuarios elegidos como landmarks
+     */
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    public int getCantidadLandmarks() {
+        return landmarks.length;
+    }
+
+    /**
+     * @return huella del contenido del grafo sobre el que se construyó
+     */
+    public long getHuella() {
+        return huella;
+    }
+
+    /**
+     * @return memoria ocupada por las distancias precalculadas (en bytes)
+     */
+    public long getBytesDistancias() {
+        return 4L * landmarks.length * numeroVertices;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("IndiceLandmarks{landmarks=%d, usuarios=%d, bytes=%d}",
+                landmarks.length, numeroVertices, getBytesDistancias());
+    }
+}
@@ -0,0 +1,169 @@
+package algoritmos.greedy;
+
+import java.util.Arrays;
+
+/**
+ * Montículo d-ario indexado de mínimos, con decrease-key.
+ *
+ * Guarda índices densos de usuario en arreglos primitivos:
+ * - heap[i]: índice del usuario en la posición i del montículo
+ * - posicion[u]: posición de u en el montículo (-1 si no está)
+ * - claves[u]: distancia actual de u
+ *
+ * Cada usuario aparece a lo sumo una vez, así que el montículo nunca supera V
+ * elementos (con borrado perezoso una PriorityQueue llega a O(E)), y actualizar
+ * no reserva memoria: no se crea ningún objeto por relajación.
+ *
+ * Con d hijos por nodo el árbol es más bajo (log_d V): decrease-key, que es la
+ * operación más frecuente en Dijkstra, sube menos niveles, y extraerMin compara
+ * d hijos contiguos en memoria. d = 4 es un buen valor por defecto.
+ *
+ * COMPLEJIDAD:
+ * - actualizar: O(log_d V)
+ * - extraerMin: O(d log_d V)
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class MonticuloIndexado implements ColaPrioridad {
+    private final int aridad;
+    private int[] heap;
+    private int[] posicion;
+    private int[] claves;
+    private int tamanio;
+
+    /**
+     * Crea un montículo 4-ario.
+     */
+    public MonticuloIndexado() {
+        this(4);
+    }
+
+    /**
+     * @param aridad cantidad de hijos por nodo (d >= 2)
+     */
+    public MonticuloIndexado(int aridad) {
+        if (aridad < 2) {
+            throw new IllegalArgumentException("La aridad debe ser al menos 2");
+        }
+        this.aridad = aridad;
+        this.heap = new int[0];
+        this.posicion = new int[0];
+        this.claves = new int[0];
+    }
+
+    @Override
+    public void reiniciar(int n) {
+        if (posicion.length < n) {
+            heap = new int[n];
+            posicion = new int[n];
+            claves = new int[n];
+            Arrays.fill(posicion, -1);
+        } else {
+            // Solo los que quedaron en el montículo tienen posición asignada
+            for (int i = 0; i < tamanio; i++) {
+                posicion[heap[i]] = -1;
+            }
+        }
+        tamanio = 0;
+    }
+
+    @Override
+    public boolean estaVacia() {
+        return tamanio == 0;
+    }
+
+    /**
+     * @return cantidad de usuarios en el montículo
+     */
+    public int getTamanio() {
+        return tamanio;
+    }
+
+    /**
+     * @return true si el usuario está en el montículo
+     */
+    public boolean contiene(int indice) {
+        return posicion[indice] >= 0;
+    }
+
+    @Override
+    public void actualizar(int indice, int distancia) {
+        int pos = posicion[indice];
+        if (pos < 0) {
+            // Insertar al final
+            pos = tamanio++;
+            heap[pos] = indice;
+            posicion[indice] = pos;
+        } else if (distancia >= claves[indice]) {
+            return;
+        }
+        claves[indice] = distancia;
+        subir(pos);
+    }
+
+    @Override
+    public int extraerMin() {
+        int minimo = heap[0];
+        posicion[minimo] = -1;
+        tamanio--;
+        if (tamanio > 0) {
+            int ultimo = heap[tamanio];
+            heap[0] = ultimo;
+            posicion[ultimo] = 0;
+            bajar(0);
+        }
+        return minimo;
+    }
+
+    /**
+     * @return distancia del mínimo sin extraerlo
+     */
+    public int getClaveMinima() {
+        return claves[heap[0]];
+    }
+
+    private void subir(int pos) {
+        int indice = heap[pos];
+        int clave = claves[indice];
+        while (pos > 0) {
+            int padre = (pos - 1) / aridad;
+            int indicePadre = heap[padre];
+            if (claves[indicePadre] <= clave) {
+                break;
+            }
+            heap[pos] = indicePadre;
+            posicion[indicePadre] = pos;
+            pos = padre;
+        }
+        heap[pos] = indice;
+        posicion[indice] = pos;
+    }
+
+    private void bajar(int pos) {
+        int indice = heap[pos];
+        int clave = claves[indice];
+        while (true) {
+            int primerHijo = pos * aridad + 1;
+            if (primerHijo >= tamanio) {
+                break;
+            }
+            // Buscar el hijo de menor clave
+            int ultimoHijo = Math.min(primerHijo + aridad, tamanio);
+            int menor = primerHijo;
+            for (int h = primerHijo + 1; h < ultimoHijo; h++) {
+                if (claves[heap[h]] < claves[heap[menor]]) {
+                    menor = h;
+                }
+            }
+            if (claves[heap[menor]] >= clave) {
+                break;
+            }
+            heap[pos] = heap[menor];
+            posicion[heap[pos]] = pos;
+            pos = menor;
+        }
+        heap[pos] = indice;
+        posicion[indice] = pos;
+    }
+}
@@ -10,11 +10,20 @@ public class RecomendacionAmigo {
     private Usuario usuario;
     private int distancia;
     private List<Usuario> ruta;
+    private int amigosEnComun;
 
     public RecomendacionAmigo(Usuario usuario, int distancia, List<Usuario> ruta) {
+        this(usuario, distancia, ruta, -1);
+    }
+
+    /**
+     * @param amigosEnComun cantidad de amigos en común con el usuario (-1 si no se calculó)
+     */
+    public RecomendacionAmigo(Usuario usuario, int distancia, List<Usuario> ruta, int amigosEnComun) {
         this.usuario = usuario;
         this.distancia = distancia;
         this.ruta = ruta;
+        this.amigosEnComun = amigosEnComun;
     }
 
     public Usuario getUsuario() {
@@ -29,6 +38,13 @@ public class RecomendacionAmigo {
         return ruta;
     }
 
+    /**
+     * @return cantidad de amigos en común, o -1 si la estrategia no la calcula
+     */
+    public int getAmigosEnComun() {
+        return amigosEnComun;
+    }
+
     public String getRutaTexto() {
         StringBuilder sb = new StringBuilder();
         for (int i = 0; i < ruta.size(); i++) {
@@ -40,7 +56,11 @@ public class RecomendacionAmigo {
 
     @Override
     public String toString() {
-        return String.format("%s (distancia: %d) - Ruta: %s",
+        String texto = String.format("%s (distancia: %d) - Ruta: %s",
                 usuario.getNombre(), distancia, getRutaTexto());
+        if (amigosEnComun >= 0) {
+            texto += " - Amigos en común: " + amigosEnComun;
+        }
+        return texto;
     }
 }
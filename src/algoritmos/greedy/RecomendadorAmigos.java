@@ -1,8 +1,8 @@
 package algoritmos.greedy;
 
 import java.util.*;
-import modelo.Arista;
-import modelo.Grafo;
+import modelo.GrafoIndexado;
+import modelo.RecorridoGrafo;
 import modelo.Usuario;
 
 /**
@@ -13,9 +13,15 @@ import modelo.Usuario;
  * son amigos directos.
  * 
  * COMPLEJIDAD:
- * - Temporal: O((V + E) log V) con Priority Queue (heap binario)
+ * - Temporal: O((V + E) log V) con cola de prioridad (montículo 4-ario indexado
+ *   con decrease-key), u O(V + E + D) con buckets de Dial cuando los pesos son
+ *   enteros chicos (D = distancia máxima). Ver TipoCola.
  * - Espacial: O(V) para almacenar distancias y predecesores
  * 
+ * Trabaja sobre cualquier GrafoIndexado (Grafo, GrafoCSR): los usuarios se
+ * identifican por su índice denso y el estado de Dijkstra vive en arreglos
+ * primitivos, sin hashear objetos Usuario ni boxear distancias.
+ * 
  * PARADIGMA GREEDY: En cada paso, se selecciona el nodo no visitado con la
  * distancia mínima acumulada, garantizando que se encuentra el camino óptimo.
  * 
@@ -28,93 +34,218 @@ public class RecomendadorAmigos {
     private long operaciones = 0;
     private long tiempoEjecucion = 0;
     
+    // Cola de prioridad de Dijkstra (se reutiliza entre ejecuciones)
+    private TipoCola tipoCola = TipoCola.AUTOMATICA;
+    private ColaPrioridad cola;
+    private TipoCola tipoColaActual;
+    
+    // Cola del lado inverso de la búsqueda bidireccional (ver distanciaEntre)
+    private ColaPrioridad colaInversa;
+    
+    // Estado de trabajo reutilizable entre búsquedas (Dijkstra, bidireccional, A*).
+    // Cada búsqueda registra los usuarios que toca y la siguiente limpia solo esos,
+    // así una búsqueda acotada cuesta lo que explora y no O(V).
+    private int[] distanciasAdelante = new int[0];
+    private int[] distanciasAtras = new int[0];
+    private int[] predecesoresAdelante = new int[0];
+    private int[] predecesoresAtras = new int[0];
+    private boolean[] asentadosAdelante = new boolean[0];
+    private boolean[] asentadosAtras = new boolean[0];
+    private boolean[] excluidos = new boolean[0];
+    private int[] contadores = new int[0];
+    private int[] tocados = new int[0];
+    private int cantidadTocados;
+    
+    // Agregados del último Dijkstra, acumulados al asentar (ver analizarConectividad)
+    private int alcanzadosAsentados;
+    private long sumaDistancias;
+    private int distanciaMaximaAsentada;
+    
+    // Cola de A* (las claves distancia + cota no respetan el rango de los buckets)
+    private final MonticuloIndexado colaAEstrella = new MonticuloIndexado();
+    
+    // Motor de recorrido del último grafo contado (cola y marcas reutilizables)
+    private RecorridoGrafo recorrido;
+    
     /**
-     * Clase interna para representar un nodo en el algoritmo de Dijkstra.
-     * Incluye el usuario y su distancia acumulada desde el origen.
+     * Ejecuta el algoritmo de Dijkstra desde un usuario origen.
+     * Calcula la distancia mínima a todos los demás usuarios en la red.
+     * 
+     * @param grafo red social de usuarios (Grafo, GrafoCSR, ...)
+     * @param origen usuario desde el cual calcular distancias
+     * @return mapa con distancias mínimas a cada usuario
      */
-    private static class NodoDijkstra implements Comparable<NodoDijkstra> {
-        Usuario usuario;
-        int distancia;
+    public Map<Usuario, Integer> calcularDistancias(GrafoIndexado grafo, Usuario origen) {
+        int indiceOrigen = grafo.getIndice(origen);
+        int n = grafo.getNumeroVertices();
+        Map<Usuario, Integer> resultado = new HashMap<>(n * 2);
         
-        public NodoDijkstra(Usuario usuario, int distancia) {
-            this.usuario = usuario;
-            this.distancia = distancia;
+        if (indiceOrigen < 0) {
+            // Origen fuera de la red: nadie es alcanzable
+            for (int i = 0; i < n; i++) {
+                resultado.put(grafo.getUsuario(i), Integer.MAX_VALUE);
+            }
+            resultado.put(origen, 0);
+            return resultado;
         }
         
-        @Override
-        public int compareTo(NodoDijkstra otro) {
-            return Integer.compare(this.distancia, otro.distancia);
+        int[] distancias = calcularDistancias(grafo, indiceOrigen);
+        for (int i = 0; i < n; i++) {
+            resultado.put(grafo.getUsuario(i), distancias[i]);
         }
+        return resultado;
     }
     
     /**
-     * Ejecuta el algoritmo de Dijkstra desde un usuario origen.
-     * Calcula la distancia mínima a todos los demás usuarios en la red.
+     * Dijkstra sobre índices densos: distancias y visitados en arreglos primitivos,
+     * sin hashing de Usuario ni boxing de enteros.
      * 
-     * @param grafo red social de usuarios
-     * @param origen usuario desde el cual calcular distancias
-     * @return mapa con distancias mínimas a cada usuario
+     * @param grafo red social indexada
+     * @param origen índice del usuario origen
+     * @return arreglo de distancias (Integer.MAX_VALUE si es inalcanzable)
      */
-    public Map<Usuario, Integer> calcularDistancias(Grafo grafo, Usuario origen) {
+    public int[] calcularDistancias(GrafoIndexado grafo, int origen) {
         operaciones = 0;
         long inicio = System.nanoTime();
         
-        // Inicializar estructuras de datos
-        Map<Usuario, Integer> distancias = new HashMap<>();
-        Set<Usuario> visitados = new HashSet<>();
-        PriorityQueue<NodoDijkstra> cola = new PriorityQueue<>();
+        int n = grafo.getNumeroVertices();
+        prepararEstado(n);
+        dijkstra(grafo, origen, false, 0);
+        int[] distancias = Arrays.copyOf(distanciasAdelante, n);
         
-        // Inicializar todas las distancias como infinito
-        for (Usuario u : grafo.getUsuarios()) {
-            distancias.put(u, Integer.MAX_VALUE);
-            operaciones++;
-        }
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return distancias;
+    }
+    
+    /**
+     * Núcleo de Dijkstra sobre índices densos. Trabaja sobre el estado reutilizable
+     * (distanciasAdelante, predecesoresAdelante, asentadosAdelante), que el llamador
+     * prepara con prepararEstado.
+     * 
+     * Sin acotar recorre todo el grafo. En modo ACOTADO (usa el arreglo excluidos):
+     * como Dijkstra asienta los usuarios en orden de distancia, en cuanto asentó
+     * {@code limite} usuarios no excluidos ya conoce a los más cercanos y se detiene.
+     * Sigue solo mientras haya empatados con el último, para que el desempate por
+     * índice sea el mismo que con una búsqueda completa.
+     * 
+     * @param grafo red social indexada
+     * @param origen índice del usuario origen
+     * @param acotado true para detenerse con los {@code limite} candidatos más cercanos
+     * @param limite cantidad de candidatos buscados (solo en modo acotado)
+     * @return candidatos asentados en orden de distancia (modo acotado), o null
+     */
+    private int[] dijkstra(GrafoIndexado grafo, int origen, boolean acotado, int limite) {
+        // Estado de trabajo: todas las distancias están en infinito (prepararEstado)
+        int n = grafo.getNumeroVertices();
+        int[] distancias = distanciasAdelante;
+        int[] predecesores = predecesoresAdelante;
+        boolean[] visitados = asentadosAdelante;
+        ColaPrioridad cola = getCola(grafo);
+        
+        int[] candidatos = acotado ? new int[Math.min(limite, n)] : null;
+        int cantidadCandidatos = 0;
+        int distanciaCorte = Integer.MAX_VALUE;
+        alcanzadosAsentados = 0;
+        sumaDistancias = 0;
+        distanciaMaximaAsentada = 0;
         
         // La distancia al origen es 0
-        distancias.put(origen, 0);
-        cola.offer(new NodoDijkstra(origen, 0));
+        tocar(origen);
+        distancias[origen] = 0;
+        cola.actualizar(origen, 0);
         
         // ALGORITMO DE DIJKSTRA
-        while (!cola.isEmpty()) {
+        while (!cola.estaVacia()) {
             operaciones++;
             
             // GREEDY: Seleccionar el nodo no visitado con menor distancia
-            NodoDijkstra actual = cola.poll();
-            Usuario usuarioActual = actual.usuario;
+            int actual = cola.extraerMin();
             
-            // Si ya fue visitado, saltar
-            if (visitados.contains(usuarioActual)) {
+            // Si ya fue visitado, saltar (solo pasa con colas perezosas)
+            if (visitados[actual]) {
                 continue;
             }
             
+            // CORTE: ya están los N más cercanos (y sus empates)
+            if (distancias[actual] > distanciaCorte) {
+                break;
+            }
+            
             // Marcar como visitado
-            visitados.add(usuarioActual);
+            visitados[actual] = true;
+            
+            // Agregados de conectividad: la distancia ya es definitiva
+            if (actual != origen) {
+                alcanzadosAsentados++;
+                sumaDistancias += distancias[actual];
+                distanciaMaximaAsentada = Math.max(distanciaMaximaAsentada, distancias[actual]);
+            }
+            
+            if (candidatos != null && !excluidos[actual]) {
+                if (cantidadCandidatos == candidatos.length) {
+                    candidatos = Arrays.copyOf(candidatos, Math.max(1, 2 * cantidadCandidatos));
+                }
+                candidatos[cantidadCandidatos++] = actual;
+                if (cantidadCandidatos == limite) {
+                    distanciaCorte = distancias[actual];
+                }
+            }
             
             // Relajar todas las aristas adyacentes
-            for (Arista arista : grafo.getVecinos(usuarioActual)) {
+            int grado = grafo.getGrado(actual);
+            for (int k = 0; k < grado; k++) {
                 operaciones++;
                 
-                Usuario vecino = arista.getDestino();
+                int vecino = grafo.getVecino(actual, k);
                 
                 // Si ya fue visitado, saltar
-                if (visitados.contains(vecino)) {
+                if (visitados[vecino]) {
                     continue;
                 }
                 
-                // Calcular nueva distancia potencial
-                int distanciaActual = distancias.get(usuarioActual);
-                int nuevaDistancia = distanciaActual + arista.getPeso();
-                
                 // Si encontramos un camino más corto, actualizar
-                if (nuevaDistancia < distancias.get(vecino)) {
-                    distancias.put(vecino, nuevaDistancia);
-                    cola.offer(new NodoDijkstra(vecino, nuevaDistancia));
+                int nuevaDistancia = distancias[actual] + grafo.getPesoVecino(actual, k);
+                if (nuevaDistancia < distancias[vecino]) {
+                    tocar(vecino);
+                    distancias[vecino] = nuevaDistancia;
+                    predecesores[vecino] = actual;
+                    cola.actualizar(vecino, nuevaDistancia);
                 }
             }
         }
         
-        tiempoEjecucion = System.nanoTime() - inicio;
-        return distancias;
+        return candidatos != null ? Arrays.copyOf(candidatos, cantidadCandidatos) : null;
+    }
+    
+    /**
+     * Obtiene la cola de prioridad del tipo configurado, vacía y lista para el grafo.
+     * Se reutiliza mientras sirva: una cola de buckets solo si su cota de peso alcanza.
+     */
+    private ColaPrioridad getCola(GrafoIndexado grafo) {
+        int pesoMaximo = grafo.getPesoMaximo();
+        TipoCola tipo = tipoCola.resolver(pesoMaximo);
+        if (cola == null || tipo != tipoColaActual
+                || (tipo == TipoCola.BUCKETS && ((ColaBuckets) cola).getPesoMaximo() < pesoMaximo)) {
+            cola = tipo.crear(pesoMaximo);
+            colaInversa = null;
+            tipoColaActual = tipo;
+        }
+        cola.reiniciar(grafo.getNumeroVertices());
+        return cola;
+    }
+    
+    /**
+     * Obtiene la cola del lado inverso de la búsqueda bidireccional, del mismo tipo
+     * que la de getCola (llamar después de ella) y con el mismo criterio de reuso.
+     */
+    private ColaPrioridad getColaInversa(GrafoIndexado grafo) {
+        int pesoMaximo = grafo.getPesoMaximo();
+        if (colaInversa == null || (tipoColaActual == TipoCola.BUCKETS
+                && ((ColaBuckets) colaInversa).getPesoMaximo() < pesoMaximo)) {
+            colaInversa = tipoColaActual.crear(pesoMaximo);
+        }
+        colaInversa.reiniciar(grafo.getNumeroVertices());
+        return colaInversa;
     }
     
     /**
@@ -123,91 +254,410 @@ public class RecomendadorAmigos {
      * Criterio: usuarios que NO son amigos directos pero están cerca en la red
      * (distancia pequeña a través de amigos mutuos).
      * 
+     * La búsqueda es ACOTADA: Dijkstra se detiene en cuanto asentó N candidatos,
+     * así que el costo depende del vecindario del usuario y no del tamaño de la red.
+     * El resultado es el mismo que el de una búsqueda completa (empates por índice).
+     * 
      * @param grafo red social
      * @param usuario usuario para quien recomendar
      * @param n número de recomendaciones
      * @return lista de recomendaciones ordenadas por cercanía
      */
-    public List<RecomendacionAmigo> recomendar(Grafo grafo, Usuario usuario, int n) {
-        // Calcular distancias con Dijkstra
-        Map<Usuario, Integer> distancias = calcularDistancias(grafo, usuario);
-        
-        // Obtener amigos directos para excluirlos de las recomendaciones
-        Set<Usuario> amigosDirectos = new HashSet<>();
-        for (Arista arista : grafo.getVecinos(usuario)) {
-            amigosDirectos.add(arista.getDestino());
+    public List<RecomendacionAmigo> recomendar(GrafoIndexado grafo, Usuario usuario, int n) {
+        int origen = grafo.getIndice(usuario);
+        if (origen < 0 || n <= 0) {
+            return new ArrayList<>();
         }
         
-        // Crear lista de candidatos (no son amigos directos, ni el mismo usuario)
-        List<RecomendacionAmigo> candidatos = new ArrayList<>();
-        for (Map.Entry<Usuario, Integer> entry : distancias.entrySet()) {
-            Usuario candidato = entry.getKey();
-            int distancia = entry.getValue();
-            
-            // Excluir: el mismo usuario, amigos directos, y usuarios inalcanzables
-            if (!candidato.equals(usuario) && 
-                !amigosDirectos.contains(candidato) &&
-                distancia != Integer.MAX_VALUE) {
-                
-                // Reconstruir ruta
-                List<Usuario> ruta = reconstruirRuta(grafo, usuario, candidato, distancias);
-                
-                RecomendacionAmigo rec = new RecomendacionAmigo(candidato, distancia, ruta);
-                candidatos.add(rec);
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        
+        // Marcar al usuario y a sus amigos directos para excluirlos de las recomendaciones
+        prepararEstado(grafo.getNumeroVertices());
+        marcarExcluidos(grafo, origen, true);
+        
+        // Dijkstra acotado: candidatos asentados en orden de distancia
+        int[] asentados = dijkstra(grafo, origen, true, n);
+        marcarExcluidos(grafo, origen, false);
+        int[] distancias = distanciasAdelante;
+        int[] predecesores = predecesoresAdelante;
+        
+        // Ordenar por distancia y, a igual distancia, por índice
+        Integer[] orden = new Integer[asentados.length];
+        for (int i = 0; i < asentados.length; i++) {
+            orden[i] = asentados[i];
+        }
+        Arrays.sort(orden, Comparator.<Integer>comparingInt(i -> distancias[i])
+                .thenComparingInt(i -> i));
+        
+        // Armar el top N: solo estas rutas se reconstruyen, en O(largo de la ruta)
+        List<RecomendacionAmigo> recomendaciones = new ArrayList<>();
+        for (int i = 0; i < Math.min(n, orden.length); i++) {
+            int candidato = orden[i];
+            List<Usuario> ruta = reconstruirRuta(grafo, candidato, predecesores);
+            recomendaciones.add(new RecomendacionAmigo(
+                    grafo.getUsuario(candidato), distancias[candidato], ruta));
+        }
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return recomendaciones;
+    }
+    
+    /**
+     * Recomienda amigos de amigos ordenados por cantidad de AMIGOS EN COMÚN.
+     * 
+     * Estrategia alternativa a recomendar: la mayoría de las recomendaciones útiles
+     * están a dos saltos, y para encontrarlas no hace falta Dijkstra. Se recorre
+     * cada amigo y cada amigo de ese amigo, contando en un arreglo primitivo cuántas
+     * veces se llega a cada candidato (= amigos en común).
+     * 
+     * Orden: más amigos en común primero; a igual cantidad, el vínculo de dos saltos
+     * más fuerte (menor peso(usuario, amigo) + peso(amigo, candidato)); luego índice.
+     * La distancia y la ruta de cada recomendación corresponden a ese vínculo.
+     * 
+     * COMPLEJIDAD: O(suma de los grados de los amigos), independiente de V
+     * 
+     * @param grafo red social
+     * @param usuario usuario para quien recomendar
+     * @param n número de recomendaciones
+     * @return lista de recomendaciones con la cantidad de amigos en común
+     */
+    public List<RecomendacionAmigo> recomendarPorAmigosEnComun(GrafoIndexado grafo, Usuario usuario, int n) {
+        int origen = grafo.getIndice(usuario);
+        if (origen < 0 || n <= 0) {
+            return new ArrayList<>();
+        }
+        
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        
+        prepararEstado(grafo.getNumeroVertices());
+        marcarExcluidos(grafo, origen, true);
+        int[] distancias = distanciasAdelante;
+        int[] intermediarios = predecesoresAdelante;
+        
+        // Dos saltos: origen -> amigo -> candidato
+        int gradoOrigen = grafo.getGrado(origen);
+        for (int k = 0; k < gradoOrigen; k++) {
+            int amigo = grafo.getVecino(origen, k);
+            int pesoAmigo = grafo.getPesoVecino(origen, k);
+            int gradoAmigo = grafo.getGrado(amigo);
+            for (int j = 0; j < gradoAmigo; j++) {
+                operaciones++;
+                int candidato = grafo.getVecino(amigo, j);
+                if (excluidos[candidato]) {
+                    continue;
+                }
+                tocar(candidato);
+                contadores[candidato]++;
+                int distancia = pesoAmigo + grafo.getPesoVecino(amigo, j);
+                if (distancia < distancias[candidato]) {
+                    distancias[candidato] = distancia;
+                    intermediarios[candidato] = amigo;
+                }
             }
         }
+        marcarExcluidos(grafo, origen, false);
         
-        // Ordenar por distancia (menor primero)
-        candidatos.sort(Comparator.comparingInt(RecomendacionAmigo::getDistancia));
+        // Ordenar los candidatos tocados
+        Integer[] orden = new Integer[cantidadTocados];
+        for (int i = 0; i < cantidadTocados; i++) {
+            orden[i] = tocados[i];
+        }
+        Arrays.sort(orden, Comparator.<Integer>comparingInt(i -> -contadores[i])
+                .thenComparingInt(i -> distancias[i])
+                .thenComparingInt(i -> i));
+        
+        List<RecomendacionAmigo> recomendaciones = new ArrayList<>();
+        for (int i = 0; i < Math.min(n, orden.length); i++) {
+            int candidato = orden[i];
+            List<Usuario> ruta = Arrays.asList(usuario, grafo.getUsuario(intermediarios[candidato]),
+                    grafo.getUsuario(candidato));
+            recomendaciones.add(new RecomendacionAmigo(grafo.getUsuario(candidato),
+                    distancias[candidato], ruta, contadores[candidato]));
+        }
         
-        // Retornar top N
-        return candidatos.subList(0, Math.min(n, candidatos.size()));
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return recomendaciones;
     }
     
     /**
-     * Reconstruye la ruta más corta entre origen y destino.
-     * Usa búsqueda hacia atrás desde el destino.
+     * Marca (o desmarca) al usuario y a sus amigos directos como excluidos.
+     */
+    private void marcarExcluidos(GrafoIndexado grafo, int origen, boolean valor) {
+        excluidos[origen] = valor;
+        for (int k = 0; k < grafo.getGrado(origen); k++) {
+            excluidos[grafo.getVecino(origen, k)] = valor;
+        }
+    }
+    
+    /**
+     * Reconstruye la ruta más corta hasta un destino siguiendo los predecesores
+     * que registró Dijkstra. Cuesta O(largo de la ruta).
      * 
      * @param grafo red social
-     * @param origen usuario inicial
-     * @param destino usuario final
-     * @param distancias mapa de distancias calculadas por Dijkstra
+     * @param destino índice del usuario final
+     * @param predecesores anterior de cada usuario en su camino mínimo (-1 en el origen)
      * @return lista de usuarios en la ruta (desde origen a destino)
      */
-    private List<Usuario> reconstruirRuta(Grafo grafo, Usuario origen, 
-                                          Usuario destino, Map<Usuario, Integer> distancias) {
+    private List<Usuario> reconstruirRuta(GrafoIndexado grafo, int destino, int[] predecesores) {
         List<Usuario> ruta = new ArrayList<>();
-        Usuario actual = destino;
         
         // Construir ruta hacia atrás
-        while (!actual.equals(origen)) {
-            ruta.add(actual);
+        for (int actual = destino; actual >= 0; actual = predecesores[actual]) {
+            ruta.add(grafo.getUsuario(actual));
+        }
+        
+        Collections.reverse(ruta);
+        return ruta;
+    }
+    
+    /**
+     * Calcula la distancia social y la ruta entre dos usuarios puntuales
+     * ("¿cómo estamos conectados?") con DIJKSTRA BIDIRECCIONAL.
+     * 
+     * Avanza a la vez una búsqueda desde el origen y otra desde el destino (el grafo
+     * es no dirigido), siempre por el lado de menor distancia asentada. Cada vez que
+     * un lado alcanza un usuario ya alcanzado por el otro se actualiza la mejor
+     * distancia conocida (mu). Se detiene cuando la suma de las últimas distancias
+     * asentadas de ambos lados es >= mu: ningún camino sin explorar puede ser más corto.
+     * 
+     * Cada lado explora aproximadamente una "bola" de radio d/2 en lugar de una de
+     * radio d, por lo que suele tocar una pequeña fracción de los usuarios que toca
+     * calcularDistancias. El estado se reutiliza entre consultas y solo se limpian
+     * los usuarios tocados.
+     * 
+     * @param grafo red social
+     * @param origen usuario de partida
+     * @param destino usuario de llegada
+     * @return recomendación con el destino, la distancia y la ruta desde el origen,
+     *         o null si alguno no pertenece al grafo o no están conectados
+     */
+    public RecomendacionAmigo distanciaEntre(GrafoIndexado grafo, Usuario origen, Usuario destino) {
+        int s = grafo.getIndice(origen);
+        int t = grafo.getIndice(destino);
+        if (s < 0 || t < 0) {
+            return null;
+        }
+        
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        
+        ColaPrioridad adelante = getCola(grafo);
+        ColaPrioridad atras = getColaInversa(grafo);
+        prepararEstado(grafo.getNumeroVertices());
+        
+        tocar(s);
+        distanciasAdelante[s] = 0;
+        adelante.actualizar(s, 0);
+        tocar(t);
+        distanciasAtras[t] = 0;
+        atras.actualizar(t, 0);
+        
+        long mejor = s == t ? 0 : Long.MAX_VALUE;
+        int encuentro = s == t ? s : -1;
+        long ultimaAdelante = 0;
+        long ultimaAtras = 0;
+        
+        while (!adelante.estaVacia() && !atras.estaVacia()
+                && ultimaAdelante + ultimaAtras < mejor) {
+            operaciones++;
             
-            // Encontrar el predecesor (vecino con distancia = actual - peso)
-            Usuario predecesor = null;
-            int distanciaActual = distancias.get(actual);
+            // Avanzar por el lado que va más atrás
+            boolean haciaAdelante = ultimaAdelante <= ultimaAtras;
+            ColaPrioridad colaLado = haciaAdelante ? adelante : atras;
+            int[] distancias = haciaAdelante ? distanciasAdelante : distanciasAtras;
+            int[] otras = haciaAdelante ? distanciasAtras : distanciasAdelante;
+            int[] predecesores = haciaAdelante ? predecesoresAdelante : predecesoresAtras;
+            boolean[] asentados = haciaAdelante ? asentadosAdelante : asentadosAtras;
             
-            for (Arista arista : grafo.getVecinos(actual)) {
-                Usuario vecino = arista.getDestino();
-                int distanciaVecino = distancias.get(vecino);
+            int actual = colaLado.extraerMin();
+            if (asentados[actual]) {
+                continue;
+            }
+            asentados[actual] = true;
+            if (haciaAdelante) {
+                ultimaAdelante = distancias[actual];
+            } else {
+                ultimaAtras = distancias[actual];
+            }
+            
+            int grado = grafo.getGrado(actual);
+            for (int k = 0; k < grado; k++) {
+                operaciones++;
+                int vecino = grafo.getVecino(actual, k);
+                if (asentados[vecino]) {
+                    continue;
+                }
                 
-                if (distanciaVecino + arista.getPeso() == distanciaActual) {
-                    predecesor = vecino;
-                    break;
+                int nuevaDistancia = distancias[actual] + grafo.getPesoVecino(actual, k);
+                if (distancias[vecino] == Integer.MAX_VALUE && otras[vecino] == Integer.MAX_VALUE) {
+                    tocar(vecino);
+                }
+                if (nuevaDistancia < distancias[vecino]) {
+                    distancias[vecino] = nuevaDistancia;
+                    predecesores[vecino] = actual;
+                    colaLado.actualizar(vecino, nuevaDistancia);
+                }
+                
+                // ¿El otro lado ya llegó a este vecino? Camino completo candidato
+                if (otras[vecino] != Integer.MAX_VALUE
+                        && (long) distancias[vecino] + otras[vecino] < mejor) {
+                    mejor = (long) distancias[vecino] + otras[vecino];
+                    encuentro = vecino;
                 }
             }
-            
-            if (predecesor == null) {
-                // No debería pasar si Dijkstra se ejecutó correctamente
+        }
+        
+        RecomendacionAmigo resultado = null;
+        if (encuentro >= 0) {
+            // Ruta: origen -> encuentro (predecesores hacia adelante) + encuentro -> destino
+            List<Usuario> ruta = new ArrayList<>();
+            for (int actual = encuentro; actual >= 0; actual = predecesoresAdelante[actual]) {
+                ruta.add(grafo.getUsuario(actual));
+            }
+            Collections.reverse(ruta);
+            for (int actual = predecesoresAtras[encuentro]; actual >= 0; actual = predecesoresAtras[actual]) {
+                ruta.add(grafo.getUsuario(actual));
+            }
+            resultado = new RecomendacionAmigo(destino, (int) mejor, ruta);
+        }
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return resultado;
+    }
+    
+    /**
+     * Distancia y ruta entre dos usuarios con A* guiado por landmarks (ALT).
+     * 
+     * La prioridad de cada usuario es distancia + cota inferior hasta el destino
+     * (ver IndiceLandmarks.cotaInferior). La cota es consistente, así que cada
+     * usuario se asienta una sola vez con su distancia real y la búsqueda termina
+     * al asentar el destino, explorando mucho menos que Dijkstra.
+     * 
+     * Si el índice no está vinculado a este grafo o el grafo cambió desde que se
+     * vinculó (ver IndiceLandmarks.estaActualizado, O(1)), sus cotas podrían ser
+     * incorrectas: en ese caso se usa la búsqueda bidireccional sin landmarks.
+     * 
+     * @param grafo red social
+     * @param origen usuario de partida
+     * @param destino usuario de llegada
+     * @param landmarks índice de landmarks vinculado a este grafo
+     * @return recomendación con el destino, la distancia y la ruta desde el origen,
+     *         o null si alguno no pertenece al grafo o no están conectados
+     */
+    public RecomendacionAmigo distanciaEntre(GrafoIndexado grafo, Usuario origen, Usuario destino,
+                                             IndiceLandmarks landmarks) {
+        if (landmarks == null || !landmarks.estaActualizado(grafo)) {
+            return distanciaEntre(grafo, origen, destino);
+        }
+        int s = grafo.getIndice(origen);
+        int t = grafo.getIndice(destino);
+        if (s < 0 || t < 0 || landmarks.cotaInferior(s, t) == Integer.MAX_VALUE) {
+            return null;
+        }
+        
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        
+        int n = grafo.getNumeroVertices();
+        prepararEstado(n);
+        colaAEstrella.reiniciar(n);
+        int[] distancias = distanciasAdelante;
+        int[] predecesores = predecesoresAdelante;
+        boolean[] asentados = asentadosAdelante;
+        
+        tocar(s);
+        distancias[s] = 0;
+        colaAEstrella.actualizar(s, landmarks.cotaInferior(s, t));
+        
+        while (!colaAEstrella.estaVacia()) {
+            operaciones++;
+            int actual = colaAEstrella.extraerMin();
+            asentados[actual] = true;
+            if (actual == t) {
                 break;
             }
             
-            actual = predecesor;
+            int grado = grafo.getGrado(actual);
+            for (int k = 0; k < grado; k++) {
+                operaciones++;
+                int vecino = grafo.getVecino(actual, k);
+                if (asentados[vecino]) {
+                    continue;
+                }
+                
+                int nuevaDistancia = distancias[actual] + grafo.getPesoVecino(actual, k);
+                if (nuevaDistancia < distancias[vecino]) {
+                    int cota = landmarks.cotaInferior(vecino, t);
+                    if (cota == Integer.MAX_VALUE) {
+                        // Desde este vecino no se llega al destino
+                        continue;
+                    }
+                    tocar(vecino);
+                    distancias[vecino] = nuevaDistancia;
+                    predecesores[vecino] = actual;
+                    colaAEstrella.actualizar(vecino, nuevaDistancia + cota);
+                }
+            }
         }
         
-        ruta.add(origen);
-        Collections.reverse(ruta);
-        return ruta;
+        RecomendacionAmigo resultado = null;
+        if (asentados[t]) {
+            resultado = new RecomendacionAmigo(destino, distancias[t], reconstruirRuta(grafo, t, predecesores));
+        }
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return resultado;
+    }
+    
+    /**
+     * Deja el estado de trabajo listo para n usuarios: agranda los arreglos si
+     * hace falta y limpia solo los usuarios tocados en la búsqueda anterior.
+     */
+    private void prepararEstado(int n) {
+        if (distanciasAdelante.length < n) {
+            distanciasAdelante = new int[n];
+            distanciasAtras = new int[n];
+            predecesoresAdelante = new int[n];
+            predecesoresAtras = new int[n];
+            asentadosAdelante = new boolean[n];
+            asentadosAtras = new boolean[n];
+            excluidos = new boolean[n];
+            contadores = new int[n];
+            tocados = new int[n];
+            Arrays.fill(distanciasAdelante, Integer.MAX_VALUE);
+            Arrays.fill(distanciasAtras, Integer.MAX_VALUE);
+            cantidadTocados = 0;
+            return;
+        }
+        for (int i = 0; i < cantidadTocados; i++) {
+            int u = tocados[i];
+            distanciasAdelante[u] = Integer.MAX_VALUE;
+            distanciasAtras[u] = Integer.MAX_VALUE;
+            asentadosAdelante[u] = false;
+            asentadosAtras[u] = false;
+            contadores[u] = 0;
+        }
+        cantidadTocados = 0;
+    }
+    
+    /**
+     * Registra un usuario alcanzado por primera vez en la búsqueda actual.
+     */
+    private void tocar(int u) {
+        if (distanciasAdelante[u] == Integer.MAX_VALUE && distanciasAtras[u] == Integer.MAX_VALUE) {
+            predecesoresAdelante[u] = -1;
+            predecesoresAtras[u] = -1;
+            tocados[cantidadTocados++] = u;
+        }
+    }
+    
+    /**
+     * @return usuarios tocados por la última búsqueda (recomendar, distanciaEntre, ...)
+     */
+    public int getUsuariosTocados() {
+        return cantidadTocados;
     }
     
     /**
@@ -217,7 +667,7 @@ public class RecomendadorAmigos {
      * @param usuario usuario de referencia
      * @return recomendación del usuario más cercano
      */
-    public RecomendacionAmigo encontrarMasCercano(Grafo grafo, Usuario usuario) {
+    public RecomendacionAmigo encontrarMasCercano(GrafoIndexado grafo, Usuario usuario) {
         List<RecomendacionAmigo> recomendaciones = recomendar(grafo, usuario, 1);
         return recomendaciones.isEmpty() ? null : recomendaciones.get(0);
     }
@@ -225,40 +675,111 @@ public class RecomendadorAmigos {
     /**
      * Analiza la conectividad del usuario en la red.
      * 
+     * Una sola pasada: la cantidad de alcanzables, la suma y el máximo de las
+     * distancias se acumulan en primitivos dentro del propio Dijkstra, al asentar
+     * cada usuario. No se copia el arreglo de distancias ni se lo recorre después.
+     * Para todos los usuarios de la red ver RecomendadorLotes.analizarConectividadTodos.
+     * 
      * @param grafo red social
      * @param usuario usuario a analizar
      * @return estadísticas de conectividad
      */
-    public EstadisticasConectividad analizarConectividad(Grafo grafo, Usuario usuario) {
-        Map<Usuario, Integer> distancias = calcularDistancias(grafo, usuario);
+    public EstadisticasConectividad analizarConectividad(GrafoIndexado grafo, Usuario usuario) {
+        int origen = grafo.getIndice(usuario);
+        if (origen < 0) {
+            return new EstadisticasConectividad(0, 0, 0, 0);
+        }
         
-        int amigosDirectos = grafo.getGrado(usuario);
-        int usuariosAlcanzables = 0;
-        int distanciaTotal = 0;
-        int distanciaMaxima = 0;
+        operaciones = 0;
+        long inicio = System.nanoTime();
         
-        for (Map.Entry<Usuario, Integer> entry : distancias.entrySet()) {
-            if (entry.getKey().equals(usuario)) continue;
-            
-            int dist = entry.getValue();
-            if (dist != Integer.MAX_VALUE) {
-                usuariosAlcanzables++;
-                distanciaTotal += dist;
-                distanciaMaxima = Math.max(distanciaMaxima, dist);
-            }
-        }
+        prepararEstado(grafo.getNumeroVertices());
+        dijkstra(grafo, origen, false, 0);
         
-        double distanciaPromedio = usuariosAlcanzables > 0 ? 
-                (double) distanciaTotal / usuariosAlcanzables : 0;
+        double distanciaPromedio = alcanzadosAsentados > 0 ? 
+                (double) sumaDistancias / alcanzadosAsentados : 0;
         
+        tiempoEjecucion = System.nanoTime() - inicio;
         return new EstadisticasConectividad(
-                amigosDirectos,
-                usuariosAlcanzables,
+                grafo.getGrado(origen),
+                alcanzadosAsentados,
                 distanciaPromedio,
-                distanciaMaxima
+                distanciaMaximaAsentada
         );
     }
     
+    /**
+     * Dijkstra completo que deja las distancias en el estado de trabajo, sin
+     * copiarlas (para RecomendadorLotes). Los alcanzados son los primeros
+     * getUsuariosTocados() de getTocados(); el arreglo devuelto es válido hasta la
+     * próxima búsqueda.
+     * 
+     * @param grafo red social indexada
+     * @param origen índice del usuario origen
+     * @return distancias desde el origen (Integer.MAX_VALUE si es inalcanzable)
+     */
+    int[] recorrerDistancias(GrafoIndexado grafo, int origen) {
+        operaciones = 0;
+        prepararEstado(grafo.getNumeroVertices());
+        dijkstra(grafo, origen, false, 0);
+        return distanciasAdelante;
+    }
+    
+    /**
+     * @return usuarios tocados por la última búsqueda (los primeros getUsuariosTocados())
+     */
+    int[] getTocados() {
+        return tocados;
+    }
+    
+    /**
+     * Cuenta cuántos usuarios puede alcanzar un usuario en la red.
+     * Da el mismo valor que usuariosAlcanzables de analizarConectividad, pero con
+     * un recorrido iterativo O(V + E), sin cola de prioridad ni distancias.
+     * 
+     * @param grafo red social
+     * @param usuario usuario de referencia
+     * @return cantidad de usuarios alcanzables (sin contar al propio usuario)
+     */
+    public int contarAlcanzables(GrafoIndexado grafo, Usuario usuario) {
+        int origen = grafo.getIndice(usuario);
+        if (origen < 0) {
+            return 0;
+        }
+        operaciones = 0;
+        int alcanzables = getRecorrido(grafo).contarAlcanzables(origen);
+        operaciones += alcanzables + 1;
+        return alcanzables;
+    }
+    
+    /**
+     * Obtiene el motor de recorrido del grafo, reutilizando la cola y las marcas
+     * de visitados entre llamadas sobre el mismo grafo.
+     */
+    private RecorridoGrafo getRecorrido(GrafoIndexado grafo) {
+        if (recorrido == null || recorrido.getGrafo() != grafo) {
+            recorrido = new RecorridoGrafo(grafo);
+        }
+        return recorrido;
+    }
+    
+    /**
+     * Elige la implementación de cola de prioridad que usa Dijkstra.
+     * 
+     * @param tipoCola tipo de cola (por defecto AUTOMATICA: buckets de Dial si los
+     *                 pesos son chicos, montículo indexado si no)
+     */
+    public void setTipoCola(TipoCola tipoCola) {
+        this.tipoCola = tipoCola;
+        this.cola = null;
+        this.colaInversa = null;
+        this.tipoColaActual = null;
+    }
+    
+    public TipoCola getTipoCola() {
+        return tipoCola;
+    }
+    
     // Getters para análisis de rendimiento
     
     public long getOperaciones() {
@@ -0,0 +1,357 @@
+package algoritmos.greedy;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import modelo.GrafoIndexado;
+import modelo.RecorridoGrafo;
+import modelo.Usuario;
+
+/**
+ * Recomendaciones en lote ("personas que quizás conozcas") y estadísticas de
+ * conectividad para muchos usuarios, en paralelo con fork-join.
+ *
+ * RecomendadorAmigos no es seguro para uso concurrente (guarda métricas y estado
+ * de trabajo en campos), así que cada hilo del pool usa su propia instancia
+ * (ThreadLocal): sus colas y arreglos de trabajo se reutilizan entre todos los
+ * usuarios que procesa ese hilo, sin reservar O(V) por usuario.
+ *
+ * Los resultados no se acumulan: cada lista se entrega al consumidor apenas se
+ * calcula, así el lote completo nunca está en memoria. El consumidor se llama
+ * desde varios hilos a la vez y debe ser seguro para uso concurrente.
+ *
+ * El grafo no debe modificarse mientras corre el lote (VistaGrafo, que cachea
+ * vecinos al consultarlos, tampoco es apta para lectura concurrente).
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class RecomendadorLotes {
+    // Usuarios por tarea hoja: por debajo de esto no conviene seguir dividiendo
+    private static final int UMBRAL_DIVISION = 32;
+
+    private final int paralelismo;
+
+    // Para análisis de rendimiento
+    private long operaciones = 0;
+    private long tiempoEjecucion = 0;
+    private long usuariosProcesados = 0;
+
+    /**
+     * Crea un recomendador que usa todos los núcleos disponibles.
+     */
+    public RecomendadorLotes() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param paralelismo cantidad de hilos del pool
+     */
+    public RecomendadorLotes(int paralelismo) {
+        if (paralelismo < 1) {
+            throw new IllegalArgumentException("El paralelismo debe ser al menos 1");
+        }
+        this.paralelismo = paralelismo;
+    }
+
+    /**
+     * Calcula el top N de recomendaciones de todos los usuarios del grafo.
+     *
+     * @param grafo red social (no se modifica)
+     * @param n número de recomendaciones por usuario
+     * @param consumidor recibe cada usuario con sus recomendaciones (seguro para hilos)
+     */
+    public void recomendarTodos(GrafoIndexado grafo, int n,
+                                BiConsumer<Usuario, List<RecomendacionAmigo>> consumidor) {
+        ejecutar(todos(grafo), recomendar(grafo, n, consumidor));
+    }
+
+    /**
+     * Calcula el top N de recomendaciones de un conjunto de usuarios.
+     * Los usuarios que no pertenecen al grafo se ignoran.
+     *
+     * @param grafo red social (no se modifica)
+     * @param usuarios usuarios a procesar
+     * @param n número de recomendaciones por usuario
+     * @param consumidor recibe cada usuario con sus recomendaciones (seguro para hilos)
+     */
+    public void recomendarLote(GrafoIndexado grafo, Collection<Usuario> usuarios, int n,
+                               BiConsumer<Usuario, List<RecomendacionAmigo>> consumidor) {
+        int[] indices = new int[usuarios.size()];
+        int cantidad = 0;
+        for (Usuario usuario : usuarios) {
+            int indice = grafo.getIndice(usuario);
+            if (indice >= 0) {
+                indices[cantidad++] = indice;
+            }
+        }
+        ejecutar(Arrays.copyOf(indices, cantidad), recomendar(grafo, n, consumidor));
+    }
+
+    private static AccionUsuario recomendar(GrafoIndexado grafo, int n,
+                                            BiConsumer<Usuario, List<RecomendacionAmigo>> consumidor) {
+        return (recomendador, indice) -> {
+            Usuario usuario = grafo.getUsuario(indice);
+            consumidor.accept(usuario, recomendador.recomendar(grafo, usuario, n));
+        };
+    }
+
+    /**
+     * Calcula las estadísticas de conectividad EXACTAS de todos los usuarios: un
+     * Dijkstra por usuario con los agregados acumulados al asentar (ver
+     * RecomendadorAmigos.analizarConectividad).
+     *
+     * COMPLEJIDAD: V × Dijkstra, repartido entre los hilos
+     *
+     * @param grafo red social (no se modifica)
+     * @param consumidor recibe cada usuario con sus estadísticas (seguro para hilos)
+     */
+    public void analizarConectividadTodos(GrafoIndexado grafo,
+                                          BiConsumer<Usuario, EstadisticasConectividad> consumidor) {
+        ejecutar(todos(grafo), (recomendador, indice) -> {
+            Usuario usuario = grafo.getUsuario(indice);
+            consumidor.accept(usuario, recomendador.analizarConectividad(grafo, usuario));
+        });
+    }
+
+    /**
+     * Estima las estadísticas de conectividad de todos los usuarios con K pivotes
+     * al azar, para redes donde V Dijkstra no son viables.
+     *
+     * Se corre Dijkstra solo desde los pivotes. Como el grafo no es dirigido,
+     * d(pivote, v) = d(v, pivote), y cada Dijkstra aporta una distancia a todos los
+     * usuarios de su componente. Para cada usuario v de una componente de s usuarios:
+     * <ul>
+     *   <li>amigos directos y usuarios alcanzables (s - 1): EXACTOS (las componentes
+     *       se calculan con un recorrido O(V + E)).</li>
+     *   <li>distancia promedio: promedio de d(p, v) sobre los pivotes de la
+     *       componente, por s / (s - 1) (el pivote puede ser el propio v). Es un
+     *       estimador sin sesgo cuando los pivotes son uniformes; el error baja
+     *       como 1 / raíz(pivotes en la componente).</li>
+     *   <li>distancia máxima: el máximo de d(p, v) sobre los pivotes, una cota
+     *       INFERIOR de la real.</li>
+     * </ul>
+     * Una componente sin ningún pivote recibe uno (su primer usuario), así todos
+     * los usuarios tienen estimación; esos Dijkstra extra cuestan lo que mide la
+     * componente. Con K >= V todos los usuarios son pivotes y el resultado es exacto.
+     *
+     * Memoria: por hilo, tres arreglos de V elementos para acumular.
+     *
+     * COMPLEJIDAD: K × Dijkstra + O(V + E)
+     *
+     * @param grafo red social (no se modifica)
+     * @param pivotes cantidad de pivotes al azar (K)
+     * @param semilla semilla del generador, para resultados reproducibles
+     * @param consumidor recibe cada usuario con sus estadísticas estimadas
+     */
+    public void estimarConectividadTodos(GrafoIndexado grafo, int pivotes, long semilla,
+                                         BiConsumer<Usuario, EstadisticasConectividad> consumidor) {
+        if (pivotes < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un pivote");
+        }
+        long inicio = System.nanoTime();
+        int n = grafo.getNumeroVertices();
+
+        // 1. Componentes conexas: tamaño y un representante de cada una
+        int[] componente = new int[n];
+        int[] tamanios = new int[n];
+        int[] representantes = new int[n];
+        int cantidadComponentes = 0;
+        RecorridoGrafo recorrido = new RecorridoGrafo(grafo);
+        recorrido.reiniciar();
+        for (int i = 0; i < n; i++) {
+            if (recorrido.estaVisitado(i)) {
+                continue;
+            }
+            int alcanzados = recorrido.recorrer(i);
+            for (int k = 0; k < alcanzados; k++) {
+                componente[recorrido.getAlcanzado(k)] = cantidadComponentes;
+            }
+            tamanios[cantidadComponentes] = alcanzados;
+            representantes[cantidadComponentes] = i;
+            cantidadComponentes++;
+        }
+
+        // 2. K pivotes distintos al azar (Fisher-Yates parcial) + uno por componente sin pivote
+        int[] candidatos = todos(grafo);
+        int k = Math.min(pivotes, n);
+        Random random = new Random(semilla);
+        boolean[] conPivote = new boolean[cantidadComponentes];
+        for (int i = 0; i < k; i++) {
+            int j = i + random.nextInt(n - i);
+            int elegido = candidatos[j];
+            candidatos[j] = candidatos[i];
+            candidatos[i] = elegido;
+            conPivote[componente[elegido]] = true;
+        }
+        int[] elegidos = Arrays.copyOf(candidatos, k + cantidadComponentes);
+        int cantidadElegidos = k;
+        for (int c = 0; c < cantidadComponentes; c++) {
+            if (!conPivote[c]) {
+                elegidos[cantidadElegidos++] = representantes[c];
+            }
+        }
+
+        // 3. Dijkstra desde cada pivote en paralelo; cada hilo acumula en sus arreglos
+        Queue<Acumulador> acumuladores = new ConcurrentLinkedQueue<>();
+        ThreadLocal<Acumulador> acumuladorHilo = ThreadLocal.withInitial(() -> {
+            Acumulador acumulador = new Acumulador(n);
+            acumuladores.add(acumulador);
+            return acumulador;
+        });
+        ejecutar(Arrays.copyOf(elegidos, cantidadElegidos), (recomendador, pivote) -> {
+            int[] distancias = recomendador.recorrerDistancias(grafo, pivote);
+            int[] alcanzados = recomendador.getTocados();
+            Acumulador acumulador = acumuladorHilo.get();
+            for (int i = 0; i < recomendador.getUsuariosTocados(); i++) {
+                int v = alcanzados[i];
+                acumulador.suma[v] += distancias[v];
+                acumulador.cuenta[v]++;
+                acumulador.maxima[v] = Math.max(acumulador.maxima[v], distancias[v]);
+            }
+        });
+
+        // 4. Combinar los acumuladores y entregar las estimaciones
+        Acumulador total = null;
+        for (Acumulador acumulador : acumuladores) {
+            if (total == null) {
+                total = acumulador;
+                continue;
+            }
+            for (int v = 0; v < n; v++) {
+                total.suma[v] += acumulador.suma[v];
+                total.cuenta[v] += acumulador.cuenta[v];
+                total.maxima[v] = Math.max(total.maxima[v], acumulador.maxima[v]);
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            int s = tamanios[componente[v]];
+            double promedio = s > 1
+                    ? (double) total.suma[v] / total.cuenta[v] * s / (s - 1)
+                    : 0;
+            consumidor.accept(grafo.getUsuario(v), new EstadisticasConectividad(
+                    grafo.getGrado(v), s - 1, promedio, total.maxima[v]));
+        }
+
+        usuariosProcesados = n;
+        tiempoEjecucion = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Sumas, cantidades y máximos de distancias a pivotes, por usuario (uno por hilo).
+     */
+    private static class Acumulador {
+        final long[] suma;
+        final int[] cuenta;
+        final int[] maxima;
+
+        Acumulador(int n) {
+            suma = new long[n];
+            cuenta = new int[n];
+            maxima = new int[n];
+        }
+    }
+
+    private static int[] todos(GrafoIndexado grafo) {
+        int[] indices = new int[grafo.getNumeroVertices()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+        }
+        return indices;
+    }
+
+    private void ejecutar(int[] indices, AccionUsuario accion) {
+        long inicio = System.nanoTime();
+        LongAdder operacionesLote = new LongAdder();
+        ThreadLocal<RecomendadorAmigos> recomendadores = ThreadLocal.withInitial(RecomendadorAmigos::new);
+
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            pool.invoke(new TareaLote(indices, 0, indices.length, accion, recomendadores, operacionesLote));
+        } finally {
+            pool.shutdown();
+        }
+
+        operaciones = operacionesLote.sum();
+        usuariosProcesados = indices.length;
+        tiempoEjecucion = System.nanoTime() - inicio;
+    }
+
+    /**
+     * Trabajo a hacer con cada usuario del lote, con el recomendador del hilo.
+     */
+    private interface AccionUsuario {
+        void procesar(RecomendadorAmigos recomendador, int indice);
+    }
+
+    /**
+     * Tarea fork-join: divide el rango de usuarios a la mitad hasta llegar al umbral
+     * y procesa cada hoja con el recomendador del hilo que la ejecuta.
+     */
+    private static class TareaLote extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] indices;
+        private final int desde;
+        private final int hasta;
+        private final AccionUsuario accion;
+        private final ThreadLocal<RecomendadorAmigos> recomendadores;
+        private final LongAdder operaciones;
+
+        TareaLote(int[] indices, int desde, int hasta, AccionUsuario accion,
+                  ThreadLocal<RecomendadorAmigos> recomendadores, LongAdder operaciones) {
+            this.indices = indices;
+            this.desde = desde;
+            this.hasta = hasta;
+            this.accion = accion;
+            this.recomendadores = recomendadores;
+            this.operaciones = operaciones;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde <= UMBRAL_DIVISION) {
+                RecomendadorAmigos recomendador = recomendadores.get();
+                for (int i = desde; i < hasta; i++) {
+                    accion.procesar(recomendador, indices[i]);
+                    operaciones.add(recomendador.getOperaciones());
+                }
+                return;
+            }
+
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(
+                    new TareaLote(indices, desde, medio, accion, recomendadores, operaciones),
+                    new TareaLote(indices, medio, hasta, accion, recomendadores, operaciones));
+        }
+    }
+
+    // Getters para análisis de rendimiento
+
+    public long getOperaciones() {
+        return operaciones;
+    }
+
+    public long getTiempoEjecucion() {
+        return tiempoEjecucion;
+    }
+
+    public double getTiempoEjecucionMs() {
+        return tiempoEjecucion / 1_000_000.0;
+    }
+
+    public long getUsuariosProcesados() {
+        return usuariosProcesados;
+    }
+
+    public int getParalelismo() {
+        return paralelismo;
+    }
+}
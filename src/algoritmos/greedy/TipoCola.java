@@ -0,0 +1,55 @@
+package algoritmos.greedy;
+
+/**
+ * Implementaciones de cola de prioridad disponibles para Dijkstra.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public enum TipoCola {
+    /** PriorityQueue con borrado perezoso: O(E) entradas, un objeto por relajación */
+    HEAP_BINARIO,
+
+    /** Montículo 4-ario indexado con decrease-key: O(V) entradas, sin objetos */
+    MONTICULO_INDEXADO,
+
+    /** Buckets de Dial: sin comparaciones, requiere pesos enteros acotados */
+    BUCKETS,
+
+    /** BUCKETS si el peso máximo del grafo es chico, si no MONTICULO_INDEXADO */
+    AUTOMATICA;
+
+    /**
+     * Mayor peso de arista con el que AUTOMATICA elige buckets.
+     * Cubre los pesos de Grafo.pesoDesdeInteracciones (1..100).
+     */
+    public static final int PESO_MAXIMO_BUCKETS = 256;
+
+    /**
+     * Resuelve AUTOMATICA según el peso máximo del grafo.
+     *
+     * @param pesoMaximo cota del mayor peso de arista
+     * @return tipo concreto a usar
+     */
+    public TipoCola resolver(int pesoMaximo) {
+        if (this != AUTOMATICA) {
+            return this;
+        }
+        return pesoMaximo <= PESO_MAXIMO_BUCKETS ? BUCKETS : MONTICULO_INDEXADO;
+    }
+
+    /**
+     * @param pesoMaximo cota del mayor peso de arista (solo la usa BUCKETS)
+     * @return una cola nueva de este tipo
+     */
+    public ColaPrioridad crear(int pesoMaximo) {
+        switch (resolver(pesoMaximo)) {
+            case HEAP_BINARIO:
+                return new ColaBinaria();
+            case BUCKETS:
+                return new ColaBuckets(pesoMaximo);
+            default:
+                return new MonticuloIndexado();
+        }
+    }
+}
@@ -18,7 +18,8 @@ import modelo.Usuario;
  * 
  * COMPLEJIDAD:
  * - Temporal: O(n × W) donde n = número de anuncios, W = presupuesto
- * - Espacial: O(n × W) para la tabla DP (optimizable a O(W))
+ * - Espacial: O(n × W) para la tabla DP (optimizable a O(W), ver
+ *   asignarAnunciosOptimizado y asignarAnunciosCompacto)
  * 
  * PARADIGMA: Programación Dinámica
  * - Subestructura óptima: La solución óptima contiene soluciones óptimas de subproblemas
@@ -36,6 +37,10 @@ public class AsignadorPublicidad {
     // Para análisis de rendimiento
     private long operaciones = 0;
     private long tiempoEjecucion = 0;
+    private int anunciosPodados = 0;
+    
+    // Tope de bits de decisión de asignarAnunciosConTiempo (n × (W + 1)(T + 1)): 512 MiB
+    private static final long MAX_BITS_DECISION = 1L << 32;
     
     /**
      * Asigna anuncios a un usuario maximizando el alcance sin exceder presupuesto.
@@ -195,29 +200,517 @@ public class AsignadorPublicidad {
         
         // Usar solo un arreglo 1D
         int[] dpOptimizado = new int[presupuesto + 1];
+        operaciones = 0;
+        llenarFila(dpOptimizado, anunciosAplicables, 0, n, presupuesto);
+        
+        return dpOptimizado[presupuesto];
+    }
+    
+    /**
+     * DP 1D sobre los anuncios [desde, hasta): deja en fila[w] el máximo alcance
+     * con costo <= w, para w entre 0 y capacidad.
+     * 
+     * @param fila arreglo de al menos capacidad + 1 posiciones (se sobrescribe)
+     * @param anuncios lista de anuncios
+     * @param desde primer anuncio (inclusive)
+     * @param hasta último anuncio (exclusive)
+     * @param capacidad presupuesto máximo
+     */
+    private void llenarFila(int[] fila, List<Anuncio> anuncios, int desde, int hasta, int capacidad) {
+        Arrays.fill(fila, 0, capacidad + 1, 0);
         
         // Llenar arreglo DP (de derecha a izquierda para evitar sobrescribir)
-        for (int i = 0; i < n; i++) {
-            Anuncio anuncio = anunciosAplicables.get(i);
+        for (int i = desde; i < hasta; i++) {
+            Anuncio anuncio = anuncios.get(i);
             int costo = anuncio.getCosto();
             int alcance = anuncio.getAlcancePotencial();
             
             // IMPORTANTE: Recorrer de derecha a izquierda
-            for (int w = presupuesto; w >= costo; w--) {
-                dpOptimizado[w] = Math.max(
-                    dpOptimizado[w],
-                    dpOptimizado[w - costo] + alcance
+            for (int w = capacidad; w >= costo; w--) {
+                operaciones++;
+                fila[w] = Math.max(
+                    fila[w],
+                    fila[w - costo] + alcance
                 );
             }
         }
+    }
+    
+    /**
+     * Versión exacta en memoria O(W), con reconstrucción por DIVIDE Y CONQUISTA
+     * (estilo Hirschberg). Para las campañas donde ni la tabla de bits de
+     * asignarAnunciosCompacto entra en memoria.
+     * 
+     * Se parte la lista de anuncios a la mitad y se corren dos DP 1D: adelante[w]
+     * con la primera mitad y atras[w] con la segunda. El presupuesto w* que
+     * maximiza adelante[w] + atras[W - w] dice cuánto gasta la primera mitad en
+     * una solución óptima; se resuelve cada mitad con su parte del presupuesto,
+     * en forma recursiva, hasta llegar a un solo anuncio.
+     * 
+     * Los subproblemas de un mismo nivel se reparten los anuncios y el
+     * presupuesto, así que cada nivel cuesta a lo sumo la mitad que el anterior:
+     * en total ~2 × n × W operaciones. Los dos arreglos se reutilizan en toda la
+     * recursión.
+     * 
+     * Da el mismo alcance que asignarAnuncios; si hay varias soluciones óptimas
+     * puede elegir otro conjunto de anuncios.
+     * 
+     * COMPLEJIDAD:
+     * - Temporal: O(n × W) (~2 veces la DP simple)
+     * - Espacial: O(W) + O(log n) de recursión
+     * 
+     * @param usuario usuario al que asignar anuncios
+     * @param anuncios lista de anuncios disponibles
+     * @param presupuesto presupuesto máximo disponible
+     * @return resultado con anuncios seleccionados y alcance total
+     */
+    public ResultadoAsignacion asignarAnunciosDivideConquista(Usuario usuario, List<Anuncio> anuncios,
+                                                             int presupuesto) {
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        dp = null;
+        
+        List<Anuncio> anunciosAplicables = filtrarAnunciosAplicables(usuario, anuncios);
+        int n = anunciosAplicables.size();
+        
+        if (n == 0 || presupuesto <= 0) {
+            tiempoEjecucion = System.nanoTime() - inicio;
+            return new ResultadoAsignacion(new ArrayList<>(), 0, 0);
+        }
         
-        return dpOptimizado[presupuesto];
+        List<Anuncio> seleccionados = new ArrayList<>();
+        int[] adelante = new int[presupuesto + 1];
+        int[] atras = new int[presupuesto + 1];
+        dividirPresupuesto(anunciosAplicables, 0, n, presupuesto, adelante, atras, seleccionados);
+        
+        int alcanceTotal = 0;
+        int costoTotal = 0;
+        for (Anuncio anuncio : seleccionados) {
+            alcanceTotal += anuncio.getAlcancePotencial();
+            costoTotal += anuncio.getCosto();
+        }
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return new ResultadoAsignacion(seleccionados, alcanceTotal, costoTotal);
+    }
+    
+    /**
+     * Agrega a 'seleccionados', en orden, una selección óptima de los anuncios
+     * [desde, hasta) con presupuesto 'capacidad'.
+     */
+    private void dividirPresupuesto(List<Anuncio> anuncios, int desde, int hasta, int capacidad,
+                                    int[] adelante, int[] atras, List<Anuncio> seleccionados) {
+        // CASO BASE: un solo anuncio, se incluye si entra y suma alcance
+        if (hasta - desde == 1) {
+            Anuncio anuncio = anuncios.get(desde);
+            operaciones++;
+            if (anuncio.getCosto() <= capacidad && anuncio.getAlcancePotencial() > 0) {
+                seleccionados.add(anuncio);
+            }
+            return;
+        }
+        
+        // DIVIDIR: DP de cada mitad y mejor reparto del presupuesto
+        int medio = (desde + hasta) >>> 1;
+        llenarFila(adelante, anuncios, desde, medio, capacidad);
+        llenarFila(atras, anuncios, medio, hasta, capacidad);
+        
+        int mejorReparto = 0;
+        int mejorAlcance = -1;
+        for (int w = 0; w <= capacidad; w++) {
+            operaciones++;
+            int alcance = adelante[w] + atras[capacidad - w];
+            if (alcance > mejorAlcance) {
+                mejorAlcance = alcance;
+                mejorReparto = w;
+            }
+        }
+        
+        // CONQUISTAR: cada mitad con su parte (los arreglos ya se pueden reutilizar)
+        dividirPresupuesto(anuncios, desde, medio, mejorReparto, adelante, atras, seleccionados);
+        dividirPresupuesto(anuncios, medio, hasta, capacidad - mejorReparto, adelante, atras, seleccionados);
+    }
+    
+    /**
+     * Versión exacta con tabla de DECISIONES compacta: devuelve el mismo resultado
+     * que asignarAnuncios (mismos anuncios seleccionados) sin la matriz de enteros.
+     * 
+     * La DP corre sobre un arreglo 1D, como asignarAnunciosOptimizado, y de cada
+     * celda (i, w) se guarda un solo bit: si incluir el anuncio i mejoró el alcance
+     * con presupuesto w. Es la misma decisión que asignarAnuncios detecta con
+     * dp[i][w] != dp[i-1][w], así que la reconstrucción hacia atrás elige los
+     * mismos anuncios. Los bits van empaquetados de a 64 en long: 32 veces menos
+     * memoria que la matriz de int (5.000 anuncios × 100.000 de presupuesto:
+     * ~62 MB en lugar de ~2 GB).
+     * 
+     * COMPLEJIDAD:
+     * - Temporal: O(n × W)
+     * - Espacial: O(W) enteros + n × W bits
+     * 
+     * @param usuario usuario al que asignar anuncios
+     * @param anuncios lista de anuncios disponibles
+     * @param presupuesto presupuesto máximo disponible
+     * @return resultado con anuncios seleccionados y alcance total
+     */
+    public ResultadoAsignacion asignarAnunciosCompacto(Usuario usuario, List<Anuncio> anuncios, int presupuesto) {
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        dp = null;
+        
+        List<Anuncio> anunciosAplicables = filtrarAnunciosAplicables(usuario, anuncios);
+        int n = anunciosAplicables.size();
+        
+        if (n == 0 || presupuesto <= 0) {
+            tiempoEjecucion = System.nanoTime() - inicio;
+            return new ResultadoAsignacion(new ArrayList<>(), 0, 0);
+        }
+        
+        TablaDecisiones tabla = new TablaDecisiones(anunciosAplicables, presupuesto);
+        operaciones = tabla.getOperaciones();
+        ResultadoAsignacion resultado = tabla.reconstruir(presupuesto);
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return resultado;
+    }
+    
+    /**
+     * Asigna anuncios respetando DOS restricciones: el presupuesto y el tiempo que
+     * el usuario acepta ver publicidad (usuario.getTiempoMaximoAnuncios()).
+     * 
+     * Mochila de dos dimensiones (presupuesto × segundos):
+     * <pre>
+     * dp[w][t] = max(dp[w][t], dp[w - costo][t - duracion] + alcance)
+     * </pre>
+     * La tabla es una sola, rodante (se recorre de atrás hacia adelante, como la
+     * versión 1D), y de cada celda se guarda solo el bit de decisión para
+     * reconstruir: (W + 1)(T + 1) enteros + n × (W + 1)(T + 1) bits.
+     * 
+     * Antes de la DP se PODAN anuncios sin perder exactitud:
+     * - los que no entran solos (costo > W o duración > T) o no suman alcance;
+     * - los DOMINADOS: j está dominado por i si i cuesta y dura lo mismo o menos y
+     *   alcanza lo mismo o más. Descartar j solo porque existe i no es exacto (la
+     *   mejor solución podría llevar a los dos). Se descarta j cuando j junto con
+     *   TODOS sus dominadores no entra en el presupuesto o en el tiempo: entonces
+     *   toda solución con j deja afuera algún dominador i, y cambiar j por i da una
+     *   solución válida igual o mejor.
+     * 
+     * El alcance es el óptimo exacto; con varias soluciones óptimas puede elegir
+     * otro conjunto que la DP sin poda.
+     * 
+     * COMPLEJIDAD:
+     * - Temporal: O(n²) de poda + O(n' × W × T) con n' anuncios tras la poda
+     * - Espacial: O(W × T) enteros + n' × W × T bits
+     * 
+     * @param usuario usuario al que asignar anuncios (perfil y tiempo máximo)
+     * @param anuncios lista de anuncios disponibles
+     * @param presupuesto presupuesto máximo disponible
+     * @return resultado con anuncios seleccionados, alcance, costo y duración total
+     * @throws IllegalArgumentException si la tabla presupuesto × tiempo o los bits de
+     *         decisión (n × (W + 1)(T + 1), tras la poda) superan el tope de memoria
+     */
+    public ResultadoAsignacion asignarAnunciosConTiempo(Usuario usuario, List<Anuncio> anuncios,
+                                                        int presupuesto) {
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        dp = null;
+        
+        int tiempo = Math.max(0, usuario.getTiempoMaximoAnuncios());
+        List<Anuncio> aplicables = filtrarAnunciosAplicables(usuario, anuncios);
+        List<Anuncio> candidatos = podarDominados(aplicables, presupuesto, tiempo);
+        anunciosPodados = aplicables.size() - candidatos.size();
+        int n = candidatos.size();
+        
+        if (n == 0 || presupuesto < 0) {
+            tiempoEjecucion = System.nanoTime() - inicio;
+            return new ResultadoAsignacion(new ArrayList<>(), 0, 0);
+        }
+        
+        // Celda (w, t) en la posición w × (T + 1) + t
+        int ancho = tiempo + 1;
+        long celdas = (long) (presupuesto + 1) * ancho;
+        if (celdas > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Tabla presupuesto × tiempo demasiado grande: " + celdas);
+        }
+        // Los bits de decisión son n × celdas: acotar el total, no solo la tabla
+        long palabras = (celdas + 63) >>> 6;
+        if (n * palabras > MAX_BITS_DECISION >>> 6) {
+            throw new IllegalArgumentException("Tabla de decisiones demasiado grande: " + n
+                    + " anuncios × " + celdas + " celdas = " + (n * celdas) + " bits (máximo "
+                    + MAX_BITS_DECISION + ")");
+        }
+        int[] tabla = new int[(int) celdas];
+        long[][] tomados = new long[n][(int) palabras];
+        
+        for (int i = 0; i < n; i++) {
+            Anuncio anuncio = candidatos.get(i);
+            int costo = anuncio.getCosto();
+            int duracion = anuncio.getDuracion();
+            int alcance = anuncio.getAlcancePotencial();
+            long[] bits = tomados[i];
+            int desplazamiento = costo * ancho + duracion;
+            
+            // De atrás hacia adelante en ambas dimensiones: la celda de origen
+            // todavía tiene el valor sin el anuncio i
+            for (int w = presupuesto; w >= costo; w--) {
+                int fila = w * ancho;
+                for (int t = tiempo; t >= duracion; t--) {
+                    operaciones++;
+                    int celda = fila + t;
+                    int alcanceIncluyendo = tabla[celda - desplazamiento] + alcance;
+                    if (alcanceIncluyendo > tabla[celda]) {
+                        tabla[celda] = alcanceIncluyendo;
+                        bits[celda >>> 6] |= 1L << celda;
+                    }
+                }
+            }
+        }
+        
+        // Reconstruir desde (W, T) leyendo los bits hacia atrás
+        List<Anuncio> seleccionados = new ArrayList<>();
+        int costoTotal = 0;
+        int celda = presupuesto * ancho + tiempo;
+        for (int i = n - 1; i >= 0; i--) {
+            if ((tomados[i][celda >>> 6] & (1L << celda)) != 0) {
+                Anuncio anuncio = candidatos.get(i);
+                seleccionados.add(anuncio);
+                costoTotal += anuncio.getCosto();
+                celda -= anuncio.getCosto() * ancho + anuncio.getDuracion();
+            }
+        }
+        Collections.reverse(seleccionados);
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return new ResultadoAsignacion(seleccionados, tabla[presupuesto * ancho + tiempo], costoTotal);
+    }
+    
+    /**
+     * Poda exacta para la mochila presupuesto × tiempo (ver asignarAnunciosConTiempo).
+     * 
+     * Los anuncios se recorren ordenados por (costo, duración, -alcance): así todo
+     * dominador aparece antes que el anuncio que domina, y alcanza con compararlo
+     * contra los que ya se conservaron (si un dominador se descartó, el que lo
+     * dominaba a él también domina a este y está entre los conservados).
+     * Se mantiene el orden original entre los conservados.
+     */
+    private List<Anuncio> podarDominados(List<Anuncio> anuncios, int presupuesto, int tiempo) {
+        List<Integer> orden = new ArrayList<>();
+        for (int i = 0; i < anuncios.size(); i++) {
+            Anuncio anuncio = anuncios.get(i);
+            if (anuncio.getAlcancePotencial() > 0 && anuncio.getCosto() <= presupuesto
+                    && anuncio.getDuracion() <= tiempo) {
+                orden.add(i);
+            }
+        }
+        orden.sort(Comparator.<Integer>comparingInt(i -> anuncios.get(i).getCosto())
+                .thenComparingInt(i -> anuncios.get(i).getDuracion())
+                .thenComparingInt(i -> -anuncios.get(i).getAlcancePotencial())
+                .thenComparingInt(i -> i));
+        
+        List<Anuncio> conservados = new ArrayList<>();
+        boolean[] conservar = new boolean[anuncios.size()];
+        for (int j : orden) {
+            Anuncio anuncio = anuncios.get(j);
+            // Costo y duración de j más todos sus dominadores conservados
+            long costoConDominadores = anuncio.getCosto();
+            long duracionConDominadores = anuncio.getDuracion();
+            boolean descartar = false;
+            for (Anuncio otro : conservados) {
+                operaciones++;
+                if (otro.getCosto() <= anuncio.getCosto() && otro.getDuracion() <= anuncio.getDuracion()
+                        && otro.getAlcancePotencial() >= anuncio.getAlcancePotencial()) {
+                    costoConDominadores += otro.getCosto();
+                    duracionConDominadores += otro.getDuracion();
+                    if (costoConDominadores > presupuesto || duracionConDominadores > tiempo) {
+                        descartar = true;
+                        break;
+                    }
+                }
+            }
+            if (!descartar) {
+                conservados.add(anuncio);
+                conservar[j] = true;
+            }
+        }
+        
+        List<Anuncio> resultado = new ArrayList<>();
+        for (int i = 0; i < anuncios.size(); i++) {
+            if (conservar[i]) {
+                resultado.add(anuncios.get(i));
+            }
+        }
+        return resultado;
+    }
+    
+    /**
+     * Versión exacta con PREPROCESAMIENTO del catálogo para achicar la DP.
+     * 
+     * En los catálogos reales los costos son casi siempre múltiplos de 50 o 100,
+     * hay anuncios repetidos y muchos dominados. Antes de la DP:
+     * <ol>
+     *   <li>Se descartan los que no suman alcance o no entran en el presupuesto;
+     *       los de costo 0 con alcance se incluyen siempre, fuera de la DP.</li>
+     *   <li>ESCALA: costos y presupuesto se dividen por el MCD de los costos. Todo
+     *       conjunto cuesta un múltiplo del MCD, así que entra en W si y solo si
+     *       entra en W / MCD (redondeado hacia abajo): la DP recorre MCD veces
+     *       menos columnas.</li>
+     *   <li>Los anuncios idénticos en (costo, alcance) se agrupan en un TIPO.</li>
+     *   <li>DOMINADOS: el tipo j está dominado por k si k cuesta lo mismo o menos y
+     *       alcanza más (o cuesta menos y alcanza lo mismo). Hay una solución
+     *       óptima que solo lleva copias de j si ya lleva todas las copias de sus
+     *       dominadores (si no, se cambia una copia de j por un dominador). Con D
+     *       el costo de esas copias, de j alcanza con ofrecer
+     *       min(copias, (W - D) / costo) copias; si no entra ninguna, j se descarta.</li>
+     *   <li>DIVISIÓN BINARIA: las q copias de un tipo se convierten en ítems de
+     *       1, 2, 4, ... copias (y el resto), que combinados dan cualquier cantidad
+     *       entre 0 y q: O(log q) ítems en lugar de q.</li>
+     * </ol>
+     * La DP con bits de decisión (TablaDecisiones) corre sobre esos ítems y la
+     * solución se traduce a los anuncios originales.
+     * 
+     * El alcance es el óptimo exacto (el mismo de asignarAnuncios); con varias
+     * soluciones óptimas puede elegir otro conjunto de anuncios.
+     * 
+     * COMPLEJIDAD:
+     * - Temporal: O(n log n + t²) de preproceso (t = tipos) + O(n' × W / MCD),
+     *   con n' = ítems tras la poda y la división binaria
+     * - Espacial: O(W / MCD) enteros + n' × W / MCD bits
+     * 
+     * @param usuario usuario al que asignar anuncios
+     * @param anuncios lista de anuncios disponibles
+     * @param presupuesto presupuesto máximo disponible
+     * @return resultado con anuncios seleccionados y alcance total
+     */
+    public ResultadoAsignacion asignarAnunciosReducido(Usuario usuario, List<Anuncio> anuncios, int presupuesto) {
+        operaciones = 0;
+        long inicio = System.nanoTime();
+        dp = null;
+        anunciosPodados = 0;
+        
+        List<Anuncio> aplicables = filtrarAnunciosAplicables(usuario, anuncios);
+        if (aplicables.isEmpty() || presupuesto <= 0) {
+            tiempoEjecucion = System.nanoTime() - inicio;
+            return new ResultadoAsignacion(new ArrayList<>(), 0, 0);
+        }
+        
+        // 1 y 3. Descartar los que no sirven, separar los gratis y agrupar idénticos.
+        //       Se guardan posiciones en aplicables, no anuncios: la misma instancia
+        //       puede venir repetida y cada aparición es una copia distinta
+        List<Integer> gratis = new ArrayList<>();
+        Map<Long, List<Integer>> grupos = new LinkedHashMap<>();
+        int mcd = 0;
+        for (int posicion = 0; posicion < aplicables.size(); posicion++) {
+            Anuncio anuncio = aplicables.get(posicion);
+            int costo = anuncio.getCosto();
+            if (anuncio.getAlcancePotencial() <= 0 || costo > presupuesto) {
+                continue;
+            }
+            if (costo <= 0) {
+                gratis.add(posicion);
+                continue;
+            }
+            long clave = ((long) costo << 32) | anuncio.getAlcancePotencial();
+            grupos.computeIfAbsent(clave, c -> new ArrayList<>()).add(posicion);
+            mcd = maximoComunDivisor(mcd, costo);
+        }
+        
+        // 2. Escala: dividir costos y presupuesto por el MCD
+        int escala = Math.max(1, mcd);
+        int capacidad = presupuesto / escala;
+        
+        // 4. Tipos por costo creciente y, a igual costo, alcance decreciente: los
+        //    dominadores de un tipo quedan antes que él
+        List<List<Integer>> tipos = new ArrayList<>(grupos.values());
+        tipos.sort(Comparator.<List<Integer>>comparingInt(t -> aplicables.get(t.get(0)).getCosto())
+                .thenComparingInt(t -> -aplicables.get(t.get(0)).getAlcancePotencial()));
+        int cantidadTipos = tipos.size();
+        int[] costoTipo = new int[cantidadTipos];
+        int[] alcanceTipo = new int[cantidadTipos];
+        int[] copias = new int[cantidadTipos];
+        for (int j = 0; j < cantidadTipos; j++) {
+            Anuncio representante = aplicables.get(tipos.get(j).get(0));
+            costoTipo[j] = representante.getCosto() / escala;
+            alcanceTipo[j] = representante.getAlcancePotencial();
+            
+            long costoDominadores = 0;
+            for (int k = 0; k < j && costoDominadores <= capacidad; k++) {
+                operaciones++;
+                if (alcanceTipo[k] >= alcanceTipo[j]) {
+                    costoDominadores += (long) copias[k] * costoTipo[k];
+                }
+            }
+            long disponibles = costoDominadores <= capacidad
+                    ? (capacidad - costoDominadores) / costoTipo[j] : 0;
+            copias[j] = (int) Math.min(tipos.get(j).size(), disponibles);
+        }
+        
+        // 5. División binaria de las copias de cada tipo en ítems de 1, 2, 4, ...
+        List<int[]> items = new ArrayList<>(); // {tipo, cantidad de copias}
+        for (int j = 0; j < cantidadTipos; j++) {
+            int resto = copias[j];
+            for (int parte = 1; resto > 0; parte *= 2) {
+                int cantidad = Math.min(parte, resto);
+                items.add(new int[]{j, cantidad});
+                resto -= cantidad;
+            }
+        }
+        int[] costos = new int[items.size()];
+        int[] alcances = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            int[] item = items.get(i);
+            costos[i] = item[1] * costoTipo[item[0]];
+            alcances[i] = item[1] * alcanceTipo[item[0]];
+        }
+        
+        // DP sobre los ítems y traducción a copias por tipo
+        TablaDecisiones tabla = new TablaDecisiones(costos, alcances, capacidad);
+        operaciones += tabla.getOperaciones();
+        int[] copiasElegidas = new int[cantidadTipos];
+        for (int i : tabla.elegidos(costos, capacidad)) {
+            copiasElegidas[items.get(i)[0]] += items.get(i)[1];
+        }
+        
+        // Elegir las primeras copias de cada tipo y devolverlas en el orden original
+        boolean[] elegidos = new boolean[aplicables.size()];
+        for (int posicion : gratis) {
+            elegidos[posicion] = true;
+        }
+        int usables = gratis.size();
+        for (int j = 0; j < cantidadTipos; j++) {
+            for (int posicion : tipos.get(j).subList(0, copiasElegidas[j])) {
+                elegidos[posicion] = true;
+            }
+            usables += copias[j];
+        }
+        List<Anuncio> seleccionados = new ArrayList<>();
+        int alcanceTotal = 0;
+        int costoTotal = 0;
+        for (int posicion = 0; posicion < aplicables.size(); posicion++) {
+            if (elegidos[posicion]) {
+                Anuncio anuncio = aplicables.get(posicion);
+                seleccionados.add(anuncio);
+                alcanceTotal += anuncio.getAlcancePotencial();
+                costoTotal += anuncio.getCosto();
+            }
+        }
+        anunciosPodados = aplicables.size() - usables;
+        
+        tiempoEjecucion = System.nanoTime() - inicio;
+        return new ResultadoAsignacion(seleccionados, alcanceTotal, costoTotal);
+    }
+    
+    private static int maximoComunDivisor(int a, int b) {
+        while (b != 0) {
+            int resto = a % b;
+            a = b;
+            b = resto;
+        }
+        return a;
     }
     
     /**
      * Obtiene la tabla DP completa (para debugging y análisis).
      * 
-     * @return tabla DP
+     * @return tabla DP, o null si la última asignación no armó la matriz
      */
     public int[][] getTablaDP() {
         return dp;
@@ -266,6 +759,14 @@ public class AsignadorPublicidad {
         return tiempoEjecucion / 1_000_000.0;
     }
     
+    /**
+     * @return anuncios descartados por la poda en la última asignación con tiempo
+     *         o reducida
+     */
+    public int getAnunciosPodados() {
+        return anunciosPodados;
+    }
+    
     /**
      * Calcula la complejidad teórica para el problema.
      * 
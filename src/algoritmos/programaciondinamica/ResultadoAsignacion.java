@@ -10,11 +10,15 @@ public class ResultadoAsignacion {
     private List<Anuncio> anunciosSeleccionados;
     private int alcanceTotal;
     private int costoTotal;
+    private int duracionTotal;
 
     public ResultadoAsignacion(List<Anuncio> anunciosSeleccionados, int alcanceTotal, int costoTotal) {
         this.anunciosSeleccionados = anunciosSeleccionados;
         this.alcanceTotal = alcanceTotal;
         this.costoTotal = costoTotal;
+        for (Anuncio anuncio : anunciosSeleccionados) {
+            this.duracionTotal += anuncio.getDuracion();
+        }
     }
 
     public List<Anuncio> getAnunciosSeleccionados() {
@@ -29,6 +33,13 @@ public class ResultadoAsignacion {
         return costoTotal;
     }
 
+    /**
+     * @return suma de las duraciones de los anuncios seleccionados (en segundos)
+     */
+    public int getDuracionTotal() {
+        return duracionTotal;
+    }
+
     public int getNumeroAnuncios() {
         return anunciosSeleccionados.size();
     }
@@ -45,6 +56,7 @@ public class ResultadoAsignacion {
         sb.append(String.format("Anuncios seleccionados: %d\n", getNumeroAnuncios()));
         sb.append(String.format("Alcance total: %d\n", alcanceTotal));
         sb.append(String.format("Costo total: %d\n", costoTotal));
+        sb.append(String.format("Duración total: %d segundos\n", duracionTotal));
         sb.append(String.format("Eficiencia promedio: %.2f alcance/costo\n", getEficienciaPromedio()));
 
         if (!anunciosSeleccionados.isEmpty()) {
@@ -0,0 +1,247 @@
+package algoritmos.programaciondinamica;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import modelo.Anuncio;
+import modelo.Usuario;
+
+/**
+ * Servicio de asignación de publicidad para muchos usuarios, con la DP de la
+ * mochila cacheada por (perfil, versión del catálogo).
+ *
+ * AsignadorPublicidad.asignarAnuncios filtra el catálogo y arma la DP desde cero
+ * para cada usuario, pero todos los usuarios con el mismo perfil y el mismo
+ * catálogo producen la misma DP. Además una DP armada hasta el presupuesto máximo
+ * responde cualquier presupuesto menor (ver TablaDecisiones). Entonces:
+ * <ul>
+ *   <li>por perfil se arma UNA tabla de decisiones: O(n × W) una sola vez.</li>
+ *   <li>cada usuario se responde reconstruyendo desde esa tabla: O(n).</li>
+ * </ul>
+ * Si llega un presupuesto mayor que el de la tabla, se vuelve a armar con
+ * max(presupuesto, 2 × anterior): con presupuestos crecientes hasta W hay
+ * O(log W) construcciones y su costo total es O(n × W).
+ * El resultado es el mismo que el de asignarAnuncios (mismos anuncios).
+ *
+ * El catálogo se modifica a través del servicio, que incrementa su versión; las
+ * tablas de una versión anterior se descartan. Si se modifica un anuncio con sus
+ * setters hay que avisar con catalogoModificado.
+ *
+ * Seguro para uso concurrente. Cada perfil tiene su propio cerrojo: mientras se
+ * arma la tabla de un perfil, las consultas de los demás se siguen respondiendo.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class ServicioAsignacionPublicidad {
+    private final List<Anuncio> catalogo;
+    private long versionCatalogo = 0;
+
+    // Tabla de decisiones por perfil (guardado bajo el cerrojo del servicio)
+    private final Map<String, EntradaPerfil> perfiles = new HashMap<>();
+
+    // Para análisis de rendimiento
+    private long aciertos = 0;
+    private long construcciones = 0;
+    private long operaciones = 0;
+
+    /**
+     * Tabla de un perfil y versión del catálogo con la que se armó.
+     */
+    private static class TablaPerfil {
+        final long version;
+        final TablaDecisiones tabla;
+
+        TablaPerfil(long version, TablaDecisiones tabla) {
+            this.version = version;
+            this.tabla = tabla;
+        }
+    }
+
+    /**
+     * Entrada de un perfil. Su monitor serializa las construcciones del perfil;
+     * la tabla se lee sin él.
+     */
+    private static class EntradaPerfil {
+        volatile TablaPerfil actual;
+    }
+
+    /**
+     * @param catalogo anuncios disponibles (se copia la lista)
+     */
+    public ServicioAsignacionPublicidad(List<Anuncio> catalogo) {
+        this.catalogo = new ArrayList<>(catalogo);
+    }
+
+    /**
+     * Asigna anuncios a un usuario maximizando el alcance sin exceder el
+     * presupuesto, usando la tabla cacheada de su perfil.
+     *
+     * @param usuario usuario al que asignar anuncios
+     * @param presupuesto presupuesto máximo disponible
+     * @return el mismo resultado que AsignadorPublicidad.asignarAnuncios
+     */
+    public ResultadoAsignacion asignarAnuncios(Usuario usuario, int presupuesto) {
+        if (presupuesto <= 0) {
+            return new ResultadoAsignacion(new ArrayList<>(), 0, 0);
+        }
+        return getTabla(usuario.getPerfil(), presupuesto).reconstruir(presupuesto);
+    }
+
+    /**
+     * Máximo alcance para el usuario, sin reconstruir la selección: O(1) con la
+     * tabla ya armada.
+     *
+     * @param usuario usuario objetivo
+     * @param presupuesto presupuesto máximo disponible
+     * @return alcance máximo alcanzable
+     */
+    public int alcanceMaximo(Usuario usuario, int presupuesto) {
+        if (presupuesto <= 0) {
+            return 0;
+        }
+        return getTabla(usuario.getPerfil(), presupuesto).alcanceMaximo(presupuesto);
+    }
+
+    /**
+     * Arma por adelantado la tabla de un perfil. Conviene con el mayor presupuesto
+     * esperado: si después llega uno mayor, la tabla se vuelve a armar (al menos
+     * con el doble de presupuesto).
+     *
+     * @param perfil perfil de usuario
+     * @param presupuestoMaximo mayor presupuesto a responder
+     */
+    public void precalcular(String perfil, int presupuestoMaximo) {
+        getTabla(perfil, Math.max(0, presupuestoMaximo));
+    }
+
+    /**
+     * Devuelve la tabla del perfil, armándola si no existe, es de otra versión del
+     * catálogo o no llega al presupuesto pedido.
+     *
+     * La construcción (O(n × W)) se hace fuera del cerrojo del servicio, bajo el
+     * del perfil: otra consulta del mismo perfil espera y reutiliza la tabla nueva,
+     * las de otros perfiles no se detienen.
+     */
+    private TablaDecisiones getTabla(String perfil, int presupuesto) {
+        EntradaPerfil entrada;
+        synchronized (this) {
+            entrada = perfiles.computeIfAbsent(perfil, p -> new EntradaPerfil());
+            TablaPerfil actual = entrada.actual;
+            if (sirve(actual, presupuesto)) {
+                aciertos++;
+                return actual.tabla;
+            }
+        }
+
+        synchronized (entrada) {
+            TablaPerfil anterior = entrada.actual;
+            long version;
+            List<Anuncio> aplicables = new ArrayList<>();
+            synchronized (this) {
+                // Otro hilo pudo armarla mientras se esperaba el cerrojo del perfil
+                if (sirve(anterior, presupuesto)) {
+                    aciertos++;
+                    return anterior.tabla;
+                }
+                version = versionCatalogo;
+                for (Anuncio anuncio : catalogo) {
+                    if (anuncio.aplicaParaPerfil(perfil)) {
+                        aplicables.add(anuncio);
+                    }
+                }
+            }
+
+            // Crecimiento geométrico si solo faltaba presupuesto
+            int presupuestoTabla = presupuesto;
+            if (anterior != null && anterior.version == version) {
+                long doble = 2L * anterior.tabla.getPresupuestoMaximo();
+                presupuestoTabla = (int) Math.max(presupuesto, Math.min(doble, Integer.MAX_VALUE - 1));
+            }
+
+            TablaDecisiones tabla = new TablaDecisiones(aplicables, presupuestoTabla);
+            entrada.actual = new TablaPerfil(version, tabla);
+            synchronized (this) {
+                construcciones++;
+                operaciones += tabla.getOperaciones();
+            }
+            return tabla;
+        }
+    }
+
+    /**
+     * Llamar con el cerrojo del servicio (lee la versión del catálogo).
+     *
+     * @return true si la tabla es de la versión actual del catálogo y llega al presupuesto
+     */
+    private boolean sirve(TablaPerfil tablaPerfil, int presupuesto) {
+        return tablaPerfil != null && tablaPerfil.version == versionCatalogo
+                && tablaPerfil.tabla.getPresupuestoMaximo() >= presupuesto;
+    }
+
+    // Modificaciones del catálogo
+
+    public synchronized void agregarAnuncio(Anuncio anuncio) {
+        catalogo.add(anuncio);
+        catalogoModificado();
+    }
+
+    public synchronized boolean quitarAnuncio(Anuncio anuncio) {
+        boolean quitado = catalogo.remove(anuncio);
+        if (quitado) {
+            catalogoModificado();
+        }
+        return quitado;
+    }
+
+    /**
+     * Avisa que cambió algún anuncio del catálogo (costo, alcance, perfiles):
+     * incrementa la versión y descarta las tablas armadas.
+     */
+    public synchronized void catalogoModificado() {
+        versionCatalogo++;
+        perfiles.clear();
+    }
+
+    public synchronized long getVersionCatalogo() {
+        return versionCatalogo;
+    }
+
+    // Getters para análisis de rendimiento
+
+    /**
+     * @return consultas respondidas con una tabla ya armada
+     */
+    public synchronized long getAciertos() {
+        return aciertos;
+    }
+
+    /**
+     * @return tablas armadas (perfil nuevo, catálogo modificado o presupuesto mayor)
+     */
+    public synchronized long getConstrucciones() {
+        return construcciones;
+    }
+
+    /**
+     * @return celdas de DP calculadas en todas las construcciones
+     */
+    public synchronized long getOperaciones() {
+        return operaciones;
+    }
+
+    /**
+     * @return memoria ocupada por las tablas cacheadas (en bytes)
+     */
+    public synchronized long getBytesTablas() {
+        long total = 0;
+        for (EntradaPerfil entrada : perfiles.values()) {
+            TablaPerfil actual = entrada.actual;
+            if (actual != null && actual.version == versionCatalogo) {
+                total += actual.tabla.getBytes();
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,183 @@
+package algoritmos.programaciondinamica;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import modelo.Anuncio;
+
+/**
+ * DP de la mochila con tabla de DECISIONES de un bit por celda (ver
+ * AsignadorPublicidad.asignarAnunciosCompacto).
+ *
+ * Se arma una vez para un presupuesto máximo y responde cualquier presupuesto
+ * menor: la fila final tiene el mejor alcance con costo <= w para todo w, y el
+ * bit (i, w) solo depende de los anuncios 0..i y de w, no del máximo. Reconstruir
+ * una consulta cuesta O(n).
+ *
+ * También se puede armar sobre costos y alcances sueltos (ítems que no son
+ * anuncios, como los de AsignadorPublicidad.asignarAnunciosReducido) y
+ * reconstruir índices con elegidos.
+ *
+ * Inmutable una vez construida: se puede consultar desde varios hilos.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+class TablaDecisiones {
+    private final List<Anuncio> anuncios;
+    private final int numeroItems;
+    private final int presupuestoMaximo;
+    private final int[] fila;
+    private final long[][] tomados;
+    private final long operaciones;
+
+    /**
+     * Corre la DP 1D sobre los anuncios guardando los bits de decisión.
+     *
+     * COMPLEJIDAD: O(n × W) tiempo, O(W) enteros + n × W bits
+     *
+     * @param anuncios anuncios ya filtrados (no se copian: no modificarlos después)
+     * @param presupuestoMaximo mayor presupuesto a consultar
+     */
+    TablaDecisiones(List<Anuncio> anuncios, int presupuestoMaximo) {
+        this(anuncios, costos(anuncios), alcances(anuncios), presupuestoMaximo);
+    }
+
+    /**
+     * Corre la DP 1D sobre ítems dados por sus costos y alcances.
+     *
+     * @param costos costo de cada ítem
+     * @param alcances alcance de cada ítem
+     * @param presupuestoMaximo mayor presupuesto a consultar
+     */
+    TablaDecisiones(int[] costos, int[] alcances, int presupuestoMaximo) {
+        this(null, costos, alcances, presupuestoMaximo);
+    }
+
+    private TablaDecisiones(List<Anuncio> anuncios, int[] costos, int[] alcances, int presupuestoMaximo) {
+        int n = costos.length;
+        this.anuncios = anuncios;
+        this.numeroItems = n;
+        this.presupuestoMaximo = presupuestoMaximo;
+        this.fila = new int[presupuestoMaximo + 1];
+        // tomados[i]: bit w encendido si el anuncio i se incluye con presupuesto w
+        this.tomados = new long[n][(presupuestoMaximo >>> 6) + 1];
+
+        long contador = 0;
+        for (int i = 0; i < n; i++) {
+            int costo = costos[i];
+            int alcance = alcances[i];
+            long[] bits = tomados[i];
+
+            // De derecha a izquierda: fila[w - costo] todavía es la de i - 1
+            for (int w = presupuestoMaximo; w >= costo; w--) {
+                contador++;
+                int alcanceIncluyendo = fila[w - costo] + alcance;
+                if (alcanceIncluyendo > fila[w]) {
+                    fila[w] = alcanceIncluyendo;
+                    bits[w >>> 6] |= 1L << w;
+                }
+            }
+        }
+        this.operaciones = contador;
+    }
+
+    private static int[] costos(List<Anuncio> anuncios) {
+        int[] costos = new int[anuncios.size()];
+        for (int i = 0; i < costos.length; i++) {
+            costos[i] = anuncios.get(i).getCosto();
+        }
+        return costos;
+    }
+
+    private static int[] alcances(List<Anuncio> anuncios) {
+        int[] alcances = new int[anuncios.size()];
+        for (int i = 0; i < alcances.length; i++) {
+            alcances[i] = anuncios.get(i).getAlcancePotencial();
+        }
+        return alcances;
+    }
+
+    /**
+     * @param presupuesto presupuesto entre 0 y el máximo
+     * @return máximo alcance con costo <= presupuesto
+     */
+    int alcanceMaximo(int presupuesto) {
+        return fila[presupuesto];
+    }
+
+    /**
+     * Reconstruye la selección leyendo los bits hacia atrás. Elige los mismos
+     * anuncios que AsignadorPublicidad.asignarAnuncios con ese presupuesto.
+     *
+     * @param presupuesto presupuesto entre 0 y el máximo
+     * @return resultado con anuncios seleccionados, alcance y costo
+     */
+    ResultadoAsignacion reconstruir(int presupuesto) {
+        List<Anuncio> seleccionados = new ArrayList<>();
+        int costoTotal = 0;
+        int w = presupuesto;
+        for (int i = anuncios.size() - 1; i >= 0 && w > 0; i--) {
+            if (fueTomado(i, w)) {
+                Anuncio anuncio = anuncios.get(i);
+                seleccionados.add(anuncio);
+                costoTotal += anuncio.getCosto();
+                w -= anuncio.getCosto();
+            }
+        }
+        Collections.reverse(seleccionados);
+        return new ResultadoAsignacion(seleccionados, fila[presupuesto], costoTotal);
+    }
+
+    /**
+     * Reconstruye la selección como índices de ítems (para tablas armadas sobre
+     * costos y alcances sueltos).
+     *
+     * @param costos los mismos costos con los que se armó la tabla
+     * @param presupuesto presupuesto entre 0 y el máximo
+     * @return índices de los ítems elegidos, en orden creciente
+     */
+    int[] elegidos(int[] costos, int presupuesto) {
+        int[] indices = new int[numeroItems];
+        int cantidad = 0;
+        int w = presupuesto;
+        for (int i = numeroItems - 1; i >= 0; i--) {
+            if (fueTomado(i, w)) {
+                indices[cantidad++] = i;
+                w -= costos[i];
+            }
+        }
+        // Quedaron de mayor a menor: invertir
+        int[] resultado = new int[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            resultado[k] = indices[cantidad - 1 - k];
+        }
+        return resultado;
+    }
+
+    private boolean fueTomado(int i, int w) {
+        return (tomados[i][w >>> 6] & (1L << w)) != 0;
+    }
+
+    int getPresupuestoMaximo() {
+        return presupuestoMaximo;
+    }
+
+    int getNumeroItems() {
+        return numeroItems;
+    }
+
+    /**
+     * @return celdas calculadas al construir la tabla
+     */
+    long getOperaciones() {
+        return operaciones;
+    }
+
+    /**
+     * @return memoria de la fila y los bits de decisión (en bytes)
+     */
+    long getBytes() {
+        return 4L * fila.length + 8L * tomados.length * ((presupuestoMaximo >>> 6) + 1);
+    }
+}
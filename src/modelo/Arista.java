@@ -15,6 +15,9 @@ public class Arista implements Comparable<Arista> {
     private Usuario destino;
     private int peso;
     
+    // Índice denso del destino dentro del Grafo que creó la arista (-1 si no aplica)
+    private int indiceDestino;
+    
     /**
      * Constructor de Arista
      * 
@@ -22,8 +25,21 @@ public class Arista implements Comparable<Arista> {
      * @param peso distancia/costo de la conexión
      */
     public Arista(Usuario destino, int peso) {
+        this(destino, peso, -1);
+    }
+    
+    /**
+     * Constructor usado por Grafo: registra además el índice denso del destino,
+     * para que los algoritmos no tengan que buscar al usuario en un mapa.
+     * 
+     * @param destino usuario de destino
+     * @param peso distancia/costo de la conexión
+     * @param indiceDestino índice denso del destino en el grafo
+     */
+    Arista(Usuario destino, int peso, int indiceDestino) {
         this.destino = destino;
         this.peso = peso;
+        this.indiceDestino = indiceDestino;
     }
     
     /**
@@ -50,7 +66,20 @@ public class Arista implements Comparable<Arista> {
         return peso;
     }
     
-    // Setter
+    /**
+     * @return índice denso del destino en el grafo, o -1 si la arista no pertenece a un Grafo
+     */
+    public int getIndiceDestino() {
+        return indiceDestino;
+    }
+    
+    /**
+     * Modifica el peso de esta dirección de la arista únicamente.
+     * Para aristas de un Grafo usar Grafo.setPesoArista, que actualiza ambas
+     * direcciones y el índice de aristas.
+     * 
+     * @param peso nuevo peso
+     */
     public void setPeso(int peso) {
         this.peso = peso;
     }
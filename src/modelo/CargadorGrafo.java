@@ -0,0 +1,254 @@
+package modelo;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Constructor masivo de grafos a partir de listas de aristas.
+ *
+ * Agregar millones de amistades con Grafo.agregarAmistad repite en cada arista la
+ * verificación de duplicados, el alta de usuarios y el crecimiento de las listas.
+ * El cargador, en cambio:
+ * 1. Acumula las aristas en arreglos primitivos (índice, índice, peso) mientras las lee
+ * 2. Elimina duplicados en una sola pasada con el índice de aristas (gana la primera
+ *    aparición, igual que en agregarAmistad) y cuenta el grado de cada usuario
+ * 3. Crea cada lista de adyacencia con su tamaño exacto y la llena sin verificaciones
+ *
+ * Formato de archivo de interacciones (una arista por línea):
+ * <pre>
+ *   # comentario
+ *   idUsuario1 idUsuario2 interacciones
+ * </pre>
+ * Los campos pueden separarse con espacios, tabulaciones o comas. Las líneas con
+ * ids desconocidos o mal formadas se descartan y se cuentan.
+ *
+ * COMPLEJIDAD: O(V + E) esperado
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class CargadorGrafo {
+    private final Map<Integer, Integer> indices;
+    private final List<Usuario> usuarios;
+
+    // Aristas leídas (incluye duplicados hasta construir)
+    private int[] extremos1;
+    private int[] extremos2;
+    private int[] pesos;
+    private int cantidadAristas;
+
+    private long lineasDescartadas;
+
+    /**
+     * Crea un cargador vacío.
+     */
+    public CargadorGrafo() {
+        this(1024);
+    }
+
+    /**
+     * Crea un cargador pre-dimensionado.
+     *
+     * @param aristasEsperadas cantidad aproximada de aristas a cargar
+     */
+    public CargadorGrafo(int aristasEsperadas) {
+        int capacidad = Math.max(16, aristasEsperadas);
+        this.indices = new HashMap<>();
+        this.usuarios = new ArrayList<>();
+        this.extremos1 = new int[capacidad];
+        this.extremos2 = new int[capacidad];
+        this.pesos = new int[capacidad];
+        this.cantidadAristas = 0;
+        this.lineasDescartadas = 0;
+    }
+
+    /**
+     * Registra un usuario. Si ya estaba registrado, no hace nada.
+     *
+     * @param usuario usuario a agregar
+     * @return índice denso del usuario
+     */
+    public int agregarUsuario(Usuario usuario) {
+        Integer indice = indices.get(usuario.getId());
+        if (indice != null) {
+            return indice;
+        }
+        indices.put(usuario.getId(), usuarios.size());
+        usuarios.add(usuario);
+        return usuarios.size() - 1;
+    }
+
+    /**
+     * Registra una lista de usuarios.
+     *
+     * @param lista usuarios a agregar
+     */
+    public void agregarUsuarios(Collection<Usuario> lista) {
+        for (Usuario usuario : lista) {
+            agregarUsuario(usuario);
+        }
+    }
+
+    /**
+     * Registra una amistad con peso explícito (sin verificar duplicados todavía).
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param peso distancia/costo de la conexión
+     */
+    public void agregarAmistad(Usuario u1, Usuario u2, int peso) {
+        int i1 = agregarUsuario(u1);
+        int i2 = agregarUsuario(u2);
+        if (i1 == i2) {
+            return;
+        }
+
+        if (cantidadAristas == extremos1.length) {
+            int capacidad = extremos1.length + (extremos1.length >> 1);
+            extremos1 = Arrays.copyOf(extremos1, capacidad);
+            extremos2 = Arrays.copyOf(extremos2, capacidad);
+            pesos = Arrays.copyOf(pesos, capacidad);
+        }
+        extremos1[cantidadAristas] = i1;
+        extremos2[cantidadAristas] = i2;
+        pesos[cantidadAristas] = peso;
+        cantidadAristas++;
+    }
+
+    /**
+     * Registra una amistad con el mismo criterio de peso que
+     * Grafo.agregarAmistadPorInteracciones.
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param interacciones número de interacciones entre ellos
+     */
+    public void agregarAmistadPorInteracciones(Usuario u1, Usuario u2, int interacciones) {
+        agregarAmistad(u1, u2, Grafo.pesoDesdeInteracciones(interacciones));
+    }
+
+    /**
+     * Consume un flujo de líneas "id1 id2 interacciones".
+     * Las líneas se procesan a medida que llegan, sin materializar el flujo completo.
+     *
+     * @param lineas iterador de líneas
+     * @param usuariosPorId usuarios conocidos, indexados por id
+     */
+    public void cargarInteracciones(Iterator<String> lineas, Map<Integer, Usuario> usuariosPorId) {
+        while (lineas.hasNext()) {
+            procesarLinea(lineas.next(), usuariosPorId);
+        }
+    }
+
+    /**
+     * Lee un archivo de interacciones línea por línea.
+     *
+     * @param archivo ruta del archivo
+     * @param usuariosPorId usuarios conocidos, indexados por id
+     * @throws IOException si no se puede leer el archivo
+     */
+    public void cargarArchivo(Path archivo, Map<Integer, Usuario> usuariosPorId) throws IOException {
+        try (BufferedReader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8)) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                procesarLinea(linea, usuariosPorId);
+            }
+        }
+    }
+
+    private void procesarLinea(String linea, Map<Integer, Usuario> usuariosPorId) {
+        String texto = linea.trim();
+        if (texto.isEmpty() || texto.startsWith("#")) {
+            return;
+        }
+
+        String[] campos = texto.split("[\\s,]+");
+        if (campos.length < 3) {
+            lineasDescartadas++;
+            return;
+        }
+
+        try {
+            Usuario u1 = usuariosPorId.get(Integer.parseInt(campos[0]));
+            Usuario u2 = usuariosPorId.get(Integer.parseInt(campos[1]));
+            int interacciones = Integer.parseInt(campos[2]);
+            if (u1 == null || u2 == null) {
+                lineasDescartadas++;
+                return;
+            }
+            agregarAmistadPorInteracciones(u1, u2, interacciones);
+        } catch (NumberFormatException e) {
+            lineasDescartadas++;
+        }
+    }
+
+    /**
+     * Construye el grafo con todas las aristas registradas.
+     *
+     * Pasada 1: descarta duplicados con el índice de aristas y calcula grados
+     *           (que son también la posición de cada arista en su lista).
+     * Pasada 2: crea las listas con capacidad exacta y las llena en el mismo orden.
+     *
+     * @return grafo resultante
+     */
+    public Grafo construir() {
+        int n = usuarios.size();
+        IndiceAristas indiceAristas = new IndiceAristas(cantidadAristas);
+        boolean[] conservar = new boolean[cantidadAristas];
+        int[] grados = new int[n];
+        int numeroAristas = 0;
+        int pesoMaximo = 0;
+
+        // Pasada 1: deduplicar y contar grados
+        for (int e = 0; e < cantidadAristas; e++) {
+            int i1 = extremos1[e];
+            int i2 = extremos2[e];
+            int id1 = usuarios.get(i1).getId();
+            int id2 = usuarios.get(i2).getId();
+            if (indiceAristas.contiene(id1, id2)) {
+                continue;
+            }
+            indiceAristas.insertar(id1, id2, pesos[e], grados[i1], grados[i2]);
+            grados[i1]++;
+            grados[i2]++;
+            conservar[e] = true;
+            numeroAristas++;
+            pesoMaximo = Math.max(pesoMaximo, pesos[e]);
+        }
+
+        // Pasada 2: listas pre-dimensionadas
+        List<List<Arista>> adyacencias = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            adyacencias.add(new ArrayList<>(grados[i]));
+        }
+        for (int e = 0; e < cantidadAristas; e++) {
+            if (conservar[e]) {
+                int i1 = extremos1[e];
+                int i2 = extremos2[e];
+                adyacencias.get(i1).add(new Arista(usuarios.get(i2), pesos[e], i2));
+                adyacencias.get(i2).add(new Arista(usuarios.get(i1), pesos[e], i1));
+            }
+        }
+
+        return new Grafo(new HashMap<>(indices), new ArrayList<>(usuarios),
+                adyacencias, indiceAristas, numeroAristas, pesoMaximo);
+    }
+
+    /**
+     * @return cantidad de aristas registradas (antes de eliminar duplicados)
+     */
+    public int getCantidadAristas() {
+        return cantidadAristas;
+    }
+
+    /**
+     * @return cantidad de líneas descartadas por formato inválido o ids desconocidos
+     */
+    public long getLineasDescartadas() {
+        return lineasDescartadas;
+    }
+}
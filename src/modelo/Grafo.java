@@ -6,6 +6,15 @@ import java.util.*;
  * Representa un grafo no dirigido de usuarios conectados por relaciones de amistad.
  * Implementado usando lista de adyacencias para eficiencia en grafos dispersos
  * 
+ * Cada usuario recibe un índice denso (0..V-1) en el orden en que se agrega.
+ * Las listas de adyacencia se guardan por índice y cada Arista conoce el índice
+ * de su destino, de modo que los algoritmos pueden trabajar con arreglos
+ * primitivos (ver GrafoIndexado) sin hashear objetos Usuario.
+ * 
+ * Un índice de aristas (tabla hash con claves long por par de ids) responde
+ * sonAmigos, getPesoArista, la detección de duplicados y eliminarAmistad en
+ * O(1) esperado, independientemente del grado de los usuarios.
+ * 
  * Soporta:
  * - Agregar usuarios (vértices)
  * - Agregar amistades (aristas)
@@ -15,25 +24,56 @@ import java.util.*;
  * @author Lucas Miño
  * @version 1.0
  */
-public class Grafo {
-    // Lista de adyacencias: Usuario -> Lista de Aristas
-    private Map<Usuario, List<Arista>> adyacencias;
+public class Grafo implements GrafoIndexado {
+    // Índice denso de cada usuario: id de Usuario -> posición en 'usuarios'
+    private Map<Integer, Integer> indices;
+    
+    // Usuarios ordenados por índice
+    private List<Usuario> usuarios;
     
-    // Conjunto de todos los usuarios en el grafo
-    private Set<Usuario> usuarios;
+    // Lista de adyacencias por índice: índice -> Lista de Aristas
+    private List<List<Arista>> adyacencias;
+    
+    // Índice de aristas: (min id, max id) -> peso y posiciones en las listas
+    private IndiceAristas indiceAristas;
     
     // Contador de aristas
     private int numeroAristas;
     
+    // Contador de modificaciones (ver GrafoIndexado.getVersion)
+    private long version;
+    
+    // Mayor peso asignado a una arista (cota: no baja al eliminar amistades)
+    private int pesoMaximo;
+    
+    // Oyentes notificados de cada cambio de amistades
+    private List<OyenteGrafo> oyentes = new ArrayList<>();
+    
     /**
      * Constructor: crea un grafo vacío
      */
     public Grafo() {
-        this.adyacencias = new HashMap<>();
-        this.usuarios = new HashSet<>();
+        this.indices = new HashMap<>();
+        this.usuarios = new ArrayList<>();
+        this.adyacencias = new ArrayList<>();
+        this.indiceAristas = new IndiceAristas();
         this.numeroAristas = 0;
     }
     
+    /**
+     * Constructor usado por CargadorGrafo: recibe las estructuras ya armadas
+     * (y pre-dimensionadas) para evitar las verificaciones de agregarAmistad.
+     */
+    Grafo(Map<Integer, Integer> indices, List<Usuario> usuarios, List<List<Arista>> adyacencias,
+          IndiceAristas indiceAristas, int numeroAristas, int pesoMaximo) {
+        this.indices = indices;
+        this.usuarios = usuarios;
+        this.adyacencias = adyacencias;
+        this.indiceAristas = indiceAristas;
+        this.numeroAristas = numeroAristas;
+        this.pesoMaximo = pesoMaximo;
+    }
+    
     /**
      * Agrega un usuario al grafo.
      * Si el usuario ya existe, no hace nada.
@@ -41,15 +81,18 @@ public class Grafo {
      * @param usuario usuario a agregar
      */
     public void agregarUsuario(Usuario usuario) {
-        if (!usuarios.contains(usuario)) {
+        if (!indices.containsKey(usuario.getId())) {
+            indices.put(usuario.getId(), usuarios.size());
             usuarios.add(usuario);
-            adyacencias.put(usuario, new ArrayList<>());
+            adyacencias.add(new ArrayList<>());
+            version++;
         }
     }
     
     /**
      * Agrega una amistad (arista no dirigida) entre dos usuarios.
      * Si los usuarios no existen, los agrega automáticamente.
+     * Si la amistad ya existe, o si u1 y u2 son el mismo usuario, no se agrega.
      * 
      * @param u1 primer usuario
      * @param u2 segundo usuario
@@ -60,18 +103,47 @@ public class Grafo {
         agregarUsuario(u1);
         agregarUsuario(u2);
         
+        // Verificar que no exista ya la arista (O(1) con el índice)
+        if (u1.equals(u2) || indiceAristas.contiene(u1.getId(), u2.getId())) {
+            return;
+        }
+        
+        int i1 = getIndice(u1);
+        int i2 = getIndice(u2);
+        List<Arista> vecinos1 = adyacencias.get(i1);
+        List<Arista> vecinos2 = adyacencias.get(i2);
+        
         // Crear aristas en ambas direcciones (grafo no dirigido)
-        Arista arista1 = new Arista(u2, peso);
-        Arista arista2 = new Arista(u1, peso);
+        indiceAristas.insertar(u1.getId(), u2.getId(), peso, vecinos1.size(), vecinos2.size());
+        vecinos1.add(new Arista(u2, peso, i2));
+        vecinos2.add(new Arista(u1, peso, i1));
+        numeroAristas++;
+        pesoMaximo = Math.max(pesoMaximo, peso);
+        version++;
         
-        // Verificar que no exista ya la arista
-        if (!adyacencias.get(u1).contains(arista1)) {
-            adyacencias.get(u1).add(arista1);
-            adyacencias.get(u2).add(arista2);
-            numeroAristas++;
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.amistadAgregada(usuarios.get(i1), usuarios.get(i2), peso);
         }
     }
     
+    /**
+     * Registra un oyente que será notificado de cada amistad agregada, eliminada
+     * o con peso modificado (los cambios hechos con Arista.setPeso no se notifican).
+     * 
+     * @param oyente oyente a registrar
+     */
+    public void agregarOyente(OyenteGrafo oyente) {
+        oyentes.add(oyente);
+    }
+    
+    /**
+     * @param oyente oyente a quitar
+     * @return true si estaba registrado
+     */
+    public boolean quitarOyente(OyenteGrafo oyente) {
+        return oyentes.remove(oyente);
+    }
+    
     /**
      * Agrega una amistad basada en número de interacciones.
      * A más interacciones, menor distancia.
@@ -81,8 +153,18 @@ public class Grafo {
      * @param interacciones número de interacciones entre ellos
      */
     public void agregarAmistadPorInteracciones(Usuario u1, Usuario u2, int interacciones) {
-        int peso = Math.max(1, 100 - interacciones);
-        agregarAmistad(u1, u2, peso);
+        agregarAmistad(u1, u2, pesoDesdeInteracciones(interacciones));
+    }
+    
+    /**
+     * Convierte un número de interacciones en peso de arista.
+     * 0 interacciones -> peso 100; 99 o más interacciones -> peso 1.
+     * 
+     * @param interacciones número de interacciones entre dos usuarios
+     * @return peso entre 1 y 100 (para interacciones >= 0)
+     */
+    public static int pesoDesdeInteracciones(int interacciones) {
+        return Math.max(1, 100 - interacciones);
     }
     
     /**
@@ -92,7 +174,18 @@ public class Grafo {
      * @return lista de aristas a sus vecinos
      */
     public List<Arista> getVecinos(Usuario usuario) {
-        return adyacencias.getOrDefault(usuario, new ArrayList<>());
+        int indice = getIndice(usuario);
+        return indice >= 0 ? adyacencias.get(indice) : new ArrayList<>();
+    }
+    
+    /**
+     * Obtiene los vecinos de un usuario a partir de su índice denso.
+     * 
+     * @param indice índice del usuario
+     * @return lista de aristas a sus vecinos
+     */
+    public List<Arista> getVecinos(int indice) {
+        return adyacencias.get(indice);
     }
     
     /**
@@ -103,17 +196,7 @@ public class Grafo {
      * @return true si son amigos directos
      */
     public boolean sonAmigos(Usuario u1, Usuario u2) {
-        if (!usuarios.contains(u1) || !usuarios.contains(u2)) {
-            return false;
-        }
-        
-        List<Arista> vecinos = adyacencias.get(u1);
-        for (Arista arista : vecinos) {
-            if (arista.getDestino().equals(u2)) {
-                return true;
-            }
-        }
-        return false;
+        return indiceAristas.contiene(u1.getId(), u2.getId());
     }
     
     /**
@@ -124,16 +207,33 @@ public class Grafo {
      * @return peso de la arista, o -1 si no existe
      */
     public int getPesoArista(Usuario u1, Usuario u2) {
-        if (!sonAmigos(u1, u2)) {
-            return -1;
+        return indiceAristas.getPeso(u1.getId(), u2.getId());
+    }
+    
+    /**
+     * Modifica el peso de una amistad existente en ambas direcciones.
+     * Es la forma de cambiar pesos manteniendo consistente el índice de aristas
+     * (Arista.setPeso solo afecta a una dirección).
+     * 
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param peso nuevo peso
+     * @return true si la amistad existía
+     */
+    public boolean setPesoArista(Usuario u1, Usuario u2, int peso) {
+        int pesoAnterior = indiceAristas.getPeso(u1.getId(), u2.getId());
+        if (!indiceAristas.setPeso(u1.getId(), u2.getId(), peso)) {
+            return false;
         }
+        getVecinos(u1).get(indiceAristas.getPosicion(u1.getId(), u2.getId())).setPeso(peso);
+        getVecinos(u2).get(indiceAristas.getPosicion(u2.getId(), u1.getId())).setPeso(peso);
+        pesoMaximo = Math.max(pesoMaximo, peso);
+        version++;
         
-        for (Arista arista : adyacencias.get(u1)) {
-            if (arista.getDestino().equals(u2)) {
-                return arista.getPeso();
-            }
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.pesoModificado(getUsuario(getIndice(u1)), getUsuario(getIndice(u2)), pesoAnterior, peso);
         }
-        return -1;
+        return true;
     }
     
     /**
@@ -145,17 +245,44 @@ public class Grafo {
      * @return true si se eliminó, false si no existía
      */
     public boolean eliminarAmistad(Usuario u1, Usuario u2) {
-        if (!sonAmigos(u1, u2)) {
+        int posicion1 = indiceAristas.getPosicion(u1.getId(), u2.getId());
+        if (posicion1 < 0) {
             return false;
         }
+        int posicion2 = indiceAristas.getPosicion(u2.getId(), u1.getId());
+        int peso = indiceAristas.getPeso(u1.getId(), u2.getId());
         
-        // Remover de ambas listas de adyacencia
-        adyacencias.get(u1).removeIf(a -> a.getDestino().equals(u2));
-        adyacencias.get(u2).removeIf(a -> a.getDestino().equals(u1));
+        // Remover de ambas listas de adyacencia en O(1)
+        quitarDeLista(u1, posicion1);
+        quitarDeLista(u2, posicion2);
+        indiceAristas.eliminar(u1.getId(), u2.getId());
         numeroAristas--;
+        version++;
+        
+        for (OyenteGrafo oyente : oyentes) {
+            oyente.amistadEliminada(getUsuario(getIndice(u1)), getUsuario(getIndice(u2)), peso);
+        }
         return true;
     }
     
+    /**
+     * Quita la arista en la posición dada moviendo la última arista de la lista
+     * a su lugar, y actualiza en el índice la posición de la arista movida.
+     * 
+     * @param usuario dueño de la lista de adyacencia
+     * @param posicion posición a quitar
+     */
+    private void quitarDeLista(Usuario usuario, int posicion) {
+        List<Arista> vecinos = getVecinos(usuario);
+        int ultima = vecinos.size() - 1;
+        if (posicion != ultima) {
+            Arista movida = vecinos.get(ultima);
+            vecinos.set(posicion, movida);
+            indiceAristas.setPosicion(usuario.getId(), movida.getDestino().getId(), posicion);
+        }
+        vecinos.remove(ultima);
+    }
+    
     /**
      * Obtiene todos los usuarios del grafo.
      * 
@@ -199,7 +326,54 @@ public class Grafo {
      * @return número de amigos directos
      */
     public int getGrado(Usuario usuario) {
-        return adyacencias.getOrDefault(usuario, new ArrayList<>()).size();
+        return getVecinos(usuario).size();
+    }
+    
+    /**
+     * Obtiene el índice denso de un usuario.
+     * 
+     * @param usuario usuario a buscar
+     * @return índice entre 0 y V-1, o -1 si no pertenece al grafo
+     */
+    @Override
+    public int getIndice(Usuario usuario) {
+        Integer indice = indices.get(usuario.getId());
+        return indice != null ? indice : -1;
+    }
+    
+    @Override
+    public Usuario getUsuario(int indice) {
+        return usuarios.get(indice);
+    }
+    
+    @Override
+    public int getGrado(int indice) {
+        return adyacencias.get(indice).size();
+    }
+    
+    @Override
+    public int getVecino(int indice, int k) {
+        return adyacencias.get(indice).get(k).getIndiceDestino();
+    }
+    
+    @Override
+    public int getPesoVecino(int indice, int k) {
+        return adyacencias.get(indice).get(k).getPeso();
+    }
+    
+    @Override
+    public long getVersion() {
+        return version;
+    }
+    
+    @Override
+    public int getPesoMaximo() {
+        return pesoMaximo;
+    }
+    
+    @Override
+    public int getPesoArista(int u, int v) {
+        return indiceAristas.getPeso(usuarios.get(u).getId(), usuarios.get(v).getId());
     }
     
     /**
@@ -217,7 +391,7 @@ public class Grafo {
         
         for (Usuario usuario : usuarios) {
             sb.append(String.format("%s -> ", usuario.getNombre()));
-            List<Arista> vecinos = adyacencias.get(usuario);
+            List<Arista> vecinos = getVecinos(usuario);
             if (vecinos.isEmpty()) {
                 sb.append("(sin amigos)");
             } else {
@@ -241,21 +415,16 @@ public class Grafo {
     public Grafo copiar() {
         Grafo copia = new Grafo();
         
-        // Copiar todos los usuarios
+        // Copiar todos los usuarios (conservan el mismo índice)
         for (Usuario u : usuarios) {
             copia.agregarUsuario(u);
         }
         
-        // Copiar todas las aristas
-        Set<String> aristasAgregadas = new HashSet<>();
-        for (Usuario u : usuarios) {
-            for (Arista arista : adyacencias.get(u)) {
-                String key = u.getId() + "-" + arista.getDestino().getId();
-                String keyInversa = arista.getDestino().getId() + "-" + u.getId();
-                
-                if (!aristasAgregadas.contains(key) && !aristasAgregadas.contains(keyInversa)) {
-                    copia.agregarAmistad(u, arista.getDestino(), arista.getPeso());
-                    aristasAgregadas.add(key);
+        // Copiar cada arista una sola vez: desde el extremo de menor índice
+        for (int i = 0; i < adyacencias.size(); i++) {
+            for (Arista arista : adyacencias.get(i)) {
+                if (i < arista.getIndiceDestino()) {
+                    copia.agregarAmistad(usuarios.get(i), arista.getDestino(), arista.getPeso());
                 }
             }
         }
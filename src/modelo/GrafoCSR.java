@@ -0,0 +1,185 @@
+package modelo;
+
+import java.util.*;
+
+/**
+ * Representación inmutable del grafo en formato CSR (Compressed Sparse Row).
+ *
+ * En lugar de un mapa de listas de objetos Arista, guarda tres arreglos de enteros:
+ * - offsets[v] .. offsets[v+1]-1: posiciones de los vecinos del usuario v
+ * - destinos[pos]: índice del vecino
+ * - pesos[pos]: peso de la arista
+ *
+ * Cada amistad ocupa 8 bytes por dirección y los vecinos de un usuario quedan
+ * contiguos en memoria, lo que hace los recorridos mucho más amigables con la caché.
+ * Los vecinos de cada usuario se guardan ordenados por índice, por lo que
+ * consultar una arista puntual cuesta O(log grado).
+ *
+ * Pensado para consultas intensivas de solo lectura: se construye una vez a partir
+ * de un Grafo y no admite modificaciones.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class GrafoCSR implements GrafoIndexado {
+    private final Usuario[] usuarios;
+    private final Map<Usuario, Integer> indices;
+    private final int[] offsets;
+    private final int[] destinos;
+    private final int[] pesos;
+    private final int pesoMaximo;
+
+    /**
+     * Construye la representación CSR a partir de un grafo existente.
+     * Los usuarios se numeran en orden creciente de id.
+     *
+     * Complejidad: O(V log V + E log grado)
+     *
+     * @param grafo grafo de origen (no se modifica)
+     */
+    public GrafoCSR(Grafo grafo) {
+        List<Usuario> lista = new ArrayList<>(grafo.getUsuarios());
+        lista.sort(Comparator.comparingInt(Usuario::getId));
+
+        int n = lista.size();
+        this.usuarios = lista.toArray(new Usuario[0]);
+        this.indices = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indices.put(usuarios[i], i);
+        }
+
+        // Primera pasada: grados -> offsets
+        this.offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + grafo.getGrado(usuarios[i]);
+        }
+
+        // Segunda pasada: volcar vecinos y ordenarlos por índice
+        this.destinos = new int[offsets[n]];
+        this.pesos = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int pos = offsets[i];
+            for (Arista arista : grafo.getVecinos(usuarios[i])) {
+                destinos[pos] = indices.get(arista.getDestino());
+                pesos[pos] = arista.getPeso();
+                pos++;
+            }
+            ordenarVecinos(offsets[i], offsets[i + 1]);
+        }
+        
+        int maximo = 0;
+        for (int peso : pesos) {
+            maximo = Math.max(maximo, peso);
+        }
+        this.pesoMaximo = maximo;
+    }
+
+    /**
+     * Ordena por índice de destino el tramo [desde, hasta) manteniendo
+     * los pesos alineados (inserción: los grados suelen ser pequeños).
+     */
+    private void ordenarVecinos(int desde, int hasta) {
+        for (int i = desde + 1; i < hasta; i++) {
+            int destino = destinos[i];
+            int peso = pesos[i];
+            int j = i - 1;
+            while (j >= desde && destinos[j] > destino) {
+                destinos[j + 1] = destinos[j];
+                pesos[j + 1] = pesos[j];
+                j--;
+            }
+            destinos[j + 1] = destino;
+            pesos[j + 1] = peso;
+        }
+    }
+
+    @Override
+    public int getNumeroVertices() {
+        return usuarios.length;
+    }
+
+    /**
+     * @return número de amistades (aristas no dirigidas)
+     */
+    public int getNumeroAristas() {
+        return destinos.length / 2;
+    }
+
+    @Override
+    public int getIndice(Usuario usuario) {
+        Integer indice = indices.get(usuario);
+        return indice != null ? indice : -1;
+    }
+
+    @Override
+    public Usuario getUsuario(int indice) {
+        return usuarios[indice];
+    }
+
+    @Override
+    public int getGrado(int indice) {
+        return offsets[indice + 1] - offsets[indice];
+    }
+
+    @Override
+    public int getVecino(int indice, int k) {
+        return destinos[offsets[indice] + k];
+    }
+
+    @Override
+    public int getPesoVecino(int indice, int k) {
+        return pesos[offsets[indice] + k];
+    }
+
+    /**
+     * Obtiene el peso de la arista entre dos usuarios por búsqueda binaria.
+     */
+    @Override
+    public int getPesoArista(int u, int v) {
+        int pos = Arrays.binarySearch(destinos, offsets[u], offsets[u + 1], v);
+        return pos >= 0 ? pesos[pos] : -1;
+    }
+
+    /**
+     * Verifica si dos usuarios son amigos directos.
+     *
+     * @param u índice del primer usuario
+     * @param v índice del segundo usuario
+     * @return true si existe la arista
+     */
+    public boolean sonAmigos(int u, int v) {
+        return getPesoArista(u, v) >= 0;
+    }
+
+    /**
+     * Memoria aproximada ocupada por los arreglos de adyacencia (en bytes).
+     * Útil para comparar contra la representación con listas de Arista.
+     *
+     * @return bytes usados por offsets, destinos y pesos
+     */
+    public long getBytesAdyacencia() {
+        return 4L * (offsets.length + destinos.length + pesos.length);
+    }
+
+    /**
+     * @return peso máximo exacto (calculado al construir)
+     */
+    @Override
+    public int getPesoMaximo() {
+        return pesoMaximo;
+    }
+    
+    /**
+     * @return siempre 0: la representación es inmutable
+     */
+    @Override
+    public long getVersion() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GrafoCSR{usuarios=%d, amistades=%d, bytes=%d}",
+                getNumeroVertices(), getNumeroAristas(), getBytesAdyacencia());
+    }
+}
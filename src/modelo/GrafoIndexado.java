@@ -0,0 +1,88 @@
+package modelo;
+
+/**
+ * Vista de solo lectura de la red social con usuarios numerados de forma densa (0..V-1).
+ *
+ * Permite que los algoritmos recorran vecinos usando índices enteros y arreglos
+ * primitivos, en lugar de mapas y conjuntos indexados por Usuario.
+ *
+ * Convención de recorrido:
+ * <pre>
+ *   for (int k = 0; k < grafo.getGrado(v); k++) {
+ *       int w = grafo.getVecino(v, k);
+ *       int peso = grafo.getPesoVecino(v, k);
+ *   }
+ * </pre>
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public interface GrafoIndexado {
+
+    /**
+     * @return cantidad de usuarios (vértices)
+     */
+    int getNumeroVertices();
+
+    /**
+     * Obtiene el índice denso de un usuario.
+     *
+     * @param usuario usuario a buscar
+     * @return índice entre 0 y V-1, o -1 si el usuario no pertenece al grafo
+     */
+    int getIndice(Usuario usuario);
+
+    /**
+     * Obtiene el usuario asociado a un índice denso.
+     *
+     * @param indice índice entre 0 y V-1
+     * @return usuario correspondiente
+     */
+    Usuario getUsuario(int indice);
+
+    /**
+     * @param indice índice del usuario
+     * @return número de amigos directos
+     */
+    int getGrado(int indice);
+
+    /**
+     * @param indice índice del usuario
+     * @param k posición del vecino (0 <= k < grado)
+     * @return índice del k-ésimo vecino
+     */
+    int getVecino(int indice, int k);
+
+    /**
+     * @param indice índice del usuario
+     * @param k posición del vecino (0 <= k < grado)
+     * @return peso de la arista hacia el k-ésimo vecino
+     */
+    int getPesoVecino(int indice, int k);
+
+    /**
+     * Obtiene el peso de la arista entre dos usuarios.
+     *
+     * @param u índice del primer usuario
+     * @param v índice del segundo usuario
+     * @return peso de la arista, o -1 si no existe
+     */
+    int getPesoArista(int u, int v);
+
+    /**
+     * Cota superior del mayor peso de arista. Permite elegir estructuras que
+     * aprovechan pesos acotados (por ejemplo, colas de buckets en Dijkstra).
+     * Puede quedar por encima del máximo real después de eliminar amistades.
+     *
+     * @return cota del peso máximo (0 si no hay aristas)
+     */
+    int getPesoMaximo();
+
+    /**
+     * Versión del grafo: cambia cada vez que se agregan usuarios o se modifican
+     * amistades. Permite a índices precalculados detectar que quedaron desactualizados.
+     *
+     * @return contador de modificaciones (constante en grafos inmutables)
+     */
+    long getVersion();
+}
@@ -0,0 +1,358 @@
+package modelo;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Grafo de solo lectura respaldado por un archivo binario mapeado en memoria.
+ *
+ * El archivo guarda el grafo en formato CSR (ver GrafoCSR) más la tabla de usuarios.
+ * Abrirlo no lee ni copia la adyacencia: los vecinos se leen directamente del
+ * buffer mapeado con FileChannel.map, por lo que la apertura es casi instantánea y
+ * varios procesos que abren el mismo archivo comparten la copia en caché de páginas
+ * del sistema operativo.
+ *
+ * Formato (enteros big-endian):
+ * <pre>
+ *   cabecera:  MAGICO, VERSION_FORMATO, V, D (= 2 × aristas)
+ *   offsets:   V + 1 enteros
+ *   destinos:  D enteros (ordenados dentro de cada usuario)
+ *   pesos:     D enteros
+ *   ids:       V pares (id, índice) ordenados por id, para buscar índices
+ *   registros: V enteros con la posición de cada usuario en la sección de datos
+ *   datos:     por usuario: id, tiempoMaximoAnuncios, nombre, email, perfil
+ *              (cada texto: longitud en bytes UTF-8 o -1 si es null, y los bytes)
+ * </pre>
+ *
+ * Los usuarios se decodifican recién cuando se piden y quedan en caché.
+ * Un único mapeo admite archivos de hasta 2 GB.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class GrafoMapeado implements GrafoIndexado {
+    private static final int MAGICO = 0x52535547; // "RSUG"
+    private static final int VERSION_FORMATO = 1;
+    private static final int BYTES_CABECERA = 16;
+
+    private final ByteBuffer buffer;
+    private final int numeroVertices;
+    private final int numeroDirigidas;
+
+    // Posiciones (en bytes) de cada sección dentro del archivo
+    private final int posOffsets;
+    private final int posDestinos;
+    private final int posPesos;
+    private final int posIds;
+    private final int posRegistros;
+    private final int posDatos;
+
+    private final Usuario[] usuariosDecodificados;
+    private int pesoMaximo = -1;
+
+    private GrafoMapeado(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < BYTES_CABECERA || buffer.getInt(0) != MAGICO) {
+            throw new IOException("El archivo no es un snapshot de grafo");
+        }
+        if (buffer.getInt(4) != VERSION_FORMATO) {
+            throw new IOException("Versión de snapshot no soportada: " + buffer.getInt(4));
+        }
+        this.numeroVertices = buffer.getInt(8);
+        this.numeroDirigidas = buffer.getInt(12);
+
+        this.posOffsets = BYTES_CABECERA;
+        this.posDestinos = posOffsets + 4 * (numeroVertices + 1);
+        this.posPesos = posDestinos + 4 * numeroDirigidas;
+        this.posIds = posPesos + 4 * numeroDirigidas;
+        this.posRegistros = posIds + 8 * numeroVertices;
+        this.posDatos = posRegistros + 4 * numeroVertices;
+        if (posDatos > buffer.capacity()) {
+            throw new IOException("Snapshot truncado");
+        }
+
+        this.usuariosDecodificados = new Usuario[numeroVertices];
+    }
+
+    /**
+     * Abre un snapshot mapeándolo en memoria (solo lectura).
+     *
+     * @param archivo ruta del snapshot
+     * @return grafo respaldado por el archivo
+     * @throws IOException si el archivo no existe o no tiene el formato esperado
+     */
+    public static GrafoMapeado abrir(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot mayor a 2 GB: no se puede mapear en un solo buffer");
+            }
+            // El mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapeado = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new GrafoMapeado(mapeado);
+        }
+    }
+
+    /**
+     * Guarda un grafo en formato de snapshot.
+     * Los usuarios se numeran con el mismo índice que tienen en el grafo de origen.
+     *
+     * @param grafo grafo a guardar (Grafo, GrafoCSR, ...)
+     * @param archivo ruta de destino (se sobrescribe)
+     * @throws IOException si no se puede escribir el archivo
+     */
+    public static void guardar(GrafoIndexado grafo, Path archivo) throws IOException {
+        int n = grafo.getNumeroVertices();
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + grafo.getGrado(i);
+        }
+
+        // Codificar usuarios de antemano para conocer el tamaño de cada registro
+        byte[][] registros = new byte[n][];
+        for (int i = 0; i < n; i++) {
+            registros[i] = codificarUsuario(grafo.getUsuario(i));
+        }
+
+        Integer[] porId = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            porId[i] = i;
+        }
+        Arrays.sort(porId, Comparator.comparingInt(i -> grafo.getUsuario(i).getId()));
+
+        try (DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(archivo)))) {
+            salida.writeInt(MAGICO);
+            salida.writeInt(VERSION_FORMATO);
+            salida.writeInt(n);
+            salida.writeInt(offsets[n]);
+
+            for (int offset : offsets) {
+                salida.writeInt(offset);
+            }
+
+            // Vecinos ordenados por índice dentro de cada usuario
+            int[][] filas = new int[n][];
+            for (int i = 0; i < n; i++) {
+                filas[i] = ordenarVecinos(grafo, i);
+                for (int k = 0; k < filas[i].length; k += 2) {
+                    salida.writeInt(filas[i][k]);
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                for (int k = 1; k < filas[i].length; k += 2) {
+                    salida.writeInt(filas[i][k]);
+                }
+            }
+
+            for (int i = 0; i < n; i++) {
+                salida.writeInt(grafo.getUsuario(porId[i]).getId());
+                salida.writeInt(porId[i]);
+            }
+
+            int posicion = 0;
+            for (int i = 0; i < n; i++) {
+                salida.writeInt(posicion);
+                posicion += registros[i].length;
+            }
+            for (int i = 0; i < n; i++) {
+                salida.write(registros[i]);
+            }
+        }
+    }
+
+    /**
+     * @return pares (destino, peso) intercalados, ordenados por destino
+     */
+    private static int[] ordenarVecinos(GrafoIndexado grafo, int indice) {
+        int grado = grafo.getGrado(indice);
+        long[] pares = new long[grado];
+        for (int k = 0; k < grado; k++) {
+            pares[k] = ((long) grafo.getVecino(indice, k) << 32)
+                    | (grafo.getPesoVecino(indice, k) & 0xFFFFFFFFL);
+        }
+        Arrays.sort(pares);
+
+        int[] fila = new int[2 * grado];
+        for (int k = 0; k < grado; k++) {
+            fila[2 * k] = (int) (pares[k] >>> 32);
+            fila[2 * k + 1] = (int) pares[k];
+        }
+        return fila;
+    }
+
+    private static byte[] codificarUsuario(Usuario usuario) {
+        byte[] nombre = bytesDe(usuario.getNombre());
+        byte[] email = bytesDe(usuario.getEmail());
+        byte[] perfil = bytesDe(usuario.getPerfil());
+
+        ByteBuffer registro = ByteBuffer.allocate(20 + largo(nombre) + largo(email) + largo(perfil));
+        registro.putInt(usuario.getId());
+        registro.putInt(usuario.getTiempoMaximoAnuncios());
+        escribirTexto(registro, nombre);
+        escribirTexto(registro, email);
+        escribirTexto(registro, perfil);
+        return registro.array();
+    }
+
+    private static byte[] bytesDe(String texto) {
+        return texto != null ? texto.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int largo(byte[] bytes) {
+        return bytes != null ? bytes.length : 0;
+    }
+
+    private static void escribirTexto(ByteBuffer registro, byte[] bytes) {
+        registro.putInt(bytes != null ? bytes.length : -1);
+        if (bytes != null) {
+            registro.put(bytes);
+        }
+    }
+
+    private String leerTexto(int[] posicion) {
+        int largo = buffer.getInt(posicion[0]);
+        posicion[0] += 4;
+        if (largo < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[largo];
+        buffer.get(posicion[0], bytes);
+        posicion[0] += largo;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int getNumeroVertices() {
+        return numeroVertices;
+    }
+
+    /**
+     * @return número de amistades (aristas no dirigidas)
+     */
+    public int getNumeroAristas() {
+        return numeroDirigidas / 2;
+    }
+
+    /**
+     * Busca el índice por id con búsqueda binaria sobre la tabla de ids.
+     */
+    @Override
+    public int getIndice(Usuario usuario) {
+        int id = usuario.getId();
+        int izquierda = 0;
+        int derecha = numeroVertices - 1;
+        while (izquierda <= derecha) {
+            int medio = (izquierda + derecha) >>> 1;
+            int idMedio = buffer.getInt(posIds + 8 * medio);
+            if (idMedio < id) {
+                izquierda = medio + 1;
+            } else if (idMedio > id) {
+                derecha = medio - 1;
+            } else {
+                return buffer.getInt(posIds + 8 * medio + 4);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Usuario getUsuario(int indice) {
+        Usuario usuario = usuariosDecodificados[indice];
+        if (usuario == null) {
+            int[] posicion = { posDatos + buffer.getInt(posRegistros + 4 * indice) };
+            int id = buffer.getInt(posicion[0]);
+            int tiempoMaximo = buffer.getInt(posicion[0] + 4);
+            posicion[0] += 8;
+            String nombre = leerTexto(posicion);
+            String email = leerTexto(posicion);
+            String perfil = leerTexto(posicion);
+            usuario = new Usuario(id, nombre, email, perfil, tiempoMaximo);
+            usuariosDecodificados[indice] = usuario;
+        }
+        return usuario;
+    }
+
+    private int offset(int indice) {
+        return buffer.getInt(posOffsets + 4 * indice);
+    }
+
+    @Override
+    public int getGrado(int indice) {
+        return offset(indice + 1) - offset(indice);
+    }
+
+    @Override
+    public int getVecino(int indice, int k) {
+        return buffer.getInt(posDestinos + 4 * (offset(indice) + k));
+    }
+
+    @Override
+    public int getPesoVecino(int indice, int k) {
+        return buffer.getInt(posPesos + 4 * (offset(indice) + k));
+    }
+
+    /**
+     * Obtiene el peso de la arista entre dos usuarios por búsqueda binaria.
+     */
+    @Override
+    public int getPesoArista(int u, int v) {
+        int izquierda = offset(u);
+        int derecha = offset(u + 1) - 1;
+        while (izquierda <= derecha) {
+            int medio = (izquierda + derecha) >>> 1;
+            int destino = buffer.getInt(posDestinos + 4 * medio);
+            if (destino < v) {
+                izquierda = medio + 1;
+            } else if (destino > v) {
+                derecha = medio - 1;
+            } else {
+                return buffer.getInt(posPesos + 4 * medio);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * El formato no guarda el peso máximo: se calcula recorriendo los pesos
+     * la primera vez que se pide y queda en caché.
+     */
+    @Override
+    public int getPesoMaximo() {
+        if (pesoMaximo < 0) {
+            int maximo = 0;
+            for (int pos = 0; pos < numeroDirigidas; pos++) {
+                maximo = Math.max(maximo, buffer.getInt(posPesos + 4 * pos));
+            }
+            pesoMaximo = maximo;
+        }
+        return pesoMaximo;
+    }
+
+    /**
+     * El snapshot es inmutable, así que la versión nunca cambia. Tampoco identifica
+     * al snapshot: dos archivos distintos (o un Grafo recién construido) también
+     * devuelven 0. Un índice o caché que se valida por versión debe además
+     * comparar el contenido del grafo.
+     *
+     * @return siempre 0
+     */
+    @Override
+    public long getVersion() {
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("GrafoMapeado{usuarios=%d, amistades=%d, bytes=%d}",
+                getNumeroVertices(), getNumeroAristas(), buffer.capacity());
+    }
+}
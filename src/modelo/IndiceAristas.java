@@ -0,0 +1,227 @@
+package modelo;
+
+/**
+ * Índice de aristas no dirigidas para consultas O(1) esperado.
+ *
+ * Tabla hash de direccionamiento abierto (sondeo lineal) con claves primitivas long:
+ * clave = (min(id1, id2), max(id1, id2)) empaquetados en 64 bits.
+ * Para cada arista guarda su peso y la posición que ocupa en la lista de adyacencia
+ * de cada extremo, lo que permite a Grafo eliminar aristas intercambiando con la
+ * última posición en lugar de recorrer la lista.
+ *
+ * Las eliminaciones usan desplazamiento hacia atrás (backward shift), de modo que
+ * la tabla nunca acumula marcas de borrado.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+class IndiceAristas {
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    private long[] claves;
+    private boolean[] ocupados;
+    private int[] pesos;
+    private int[] posicionesMenor;  // posición en la lista del extremo de menor id
+    private int[] posicionesMayor;  // posición en la lista del extremo de mayor id
+    private int tamanio;
+
+    IndiceAristas() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * @param aristasEsperadas cantidad de aristas para pre-dimensionar la tabla
+     */
+    IndiceAristas(int aristasEsperadas) {
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * 3 < aristasEsperadas * 4) {
+            capacidad <<= 1;
+        }
+        inicializar(capacidad);
+    }
+
+    private void inicializar(int capacidad) {
+        claves = new long[capacidad];
+        ocupados = new boolean[capacidad];
+        pesos = new int[capacidad];
+        posicionesMenor = new int[capacidad];
+        posicionesMayor = new int[capacidad];
+        tamanio = 0;
+    }
+
+    /**
+     * Empaqueta un par no ordenado de ids en una clave de 64 bits.
+     */
+    static long clave(int id1, int id2) {
+        int menor = Math.min(id1, id2);
+        int mayor = Math.max(id1, id2);
+        return ((long) menor << 32) | (mayor & 0xFFFFFFFFL);
+    }
+
+    private int hash(long clave) {
+        // Mezcla final de MurmurHash3 para dispersar claves consecutivas
+        clave ^= clave >>> 33;
+        clave *= 0xff51afd7ed558ccdL;
+        clave ^= clave >>> 33;
+        return (int) clave & (claves.length - 1);
+    }
+
+    private int buscar(int id1, int id2) {
+        long clave = clave(id1, id2);
+        int mascara = claves.length - 1;
+        for (int i = hash(clave); ocupados[i]; i = (i + 1) & mascara) {
+            if (claves[i] == clave) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    int tamanio() {
+        return tamanio;
+    }
+
+    boolean contiene(int id1, int id2) {
+        return buscar(id1, id2) >= 0;
+    }
+
+    /**
+     * @return peso de la arista, o -1 si no existe
+     */
+    int getPeso(int id1, int id2) {
+        int slot = buscar(id1, id2);
+        return slot >= 0 ? pesos[slot] : -1;
+    }
+
+    /**
+     * Actualiza el peso de una arista existente.
+     *
+     * @return true si la arista existía
+     */
+    boolean setPeso(int id1, int id2, int peso) {
+        int slot = buscar(id1, id2);
+        if (slot < 0) {
+            return false;
+        }
+        pesos[slot] = peso;
+        return true;
+    }
+
+    /**
+     * Obtiene la posición de la arista dentro de la lista de adyacencia de 'desde'.
+     *
+     * @return posición, o -1 si la arista no existe
+     */
+    int getPosicion(int desde, int hacia) {
+        int slot = buscar(desde, hacia);
+        if (slot < 0) {
+            return -1;
+        }
+        return desde <= hacia ? posicionesMenor[slot] : posicionesMayor[slot];
+    }
+
+    /**
+     * Actualiza la posición de la arista dentro de la lista de adyacencia de 'desde'.
+     */
+    void setPosicion(int desde, int hacia, int posicion) {
+        int slot = buscar(desde, hacia);
+        if (slot < 0) {
+            return;
+        }
+        if (desde <= hacia) {
+            posicionesMenor[slot] = posicion;
+        } else {
+            posicionesMayor[slot] = posicion;
+        }
+    }
+
+    /**
+     * Inserta una arista que no existe en el índice.
+     *
+     * @param id1 id del primer extremo
+     * @param id2 id del segundo extremo
+     * @param peso peso de la arista
+     * @param posicion1 posición de la arista en la lista de id1
+     * @param posicion2 posición de la arista en la lista de id2
+     */
+    void insertar(int id1, int id2, int peso, int posicion1, int posicion2) {
+        if ((tamanio + 1) * 4 > claves.length * 3) {
+            redimensionar(claves.length << 1);
+        }
+
+        long clave = clave(id1, id2);
+        int mascara = claves.length - 1;
+        int i = hash(clave);
+        while (ocupados[i]) {
+            i = (i + 1) & mascara;
+        }
+
+        claves[i] = clave;
+        ocupados[i] = true;
+        pesos[i] = peso;
+        posicionesMenor[i] = id1 <= id2 ? posicion1 : posicion2;
+        posicionesMayor[i] = id1 <= id2 ? posicion2 : posicion1;
+        tamanio++;
+    }
+
+    /**
+     * Elimina una arista del índice.
+     *
+     * @return true si la arista existía
+     */
+    boolean eliminar(int id1, int id2) {
+        int slot = buscar(id1, id2);
+        if (slot < 0) {
+            return false;
+        }
+
+        // Desplazamiento hacia atrás: reubicar las entradas del mismo cluster
+        int mascara = claves.length - 1;
+        int hueco = slot;
+        int i = (hueco + 1) & mascara;
+        while (ocupados[i]) {
+            int ideal = hash(claves[i]);
+            // La entrada puede ocupar el hueco si su posición ideal no está en (hueco, i]
+            boolean mover = hueco <= i
+                    ? (ideal <= hueco || ideal > i)
+                    : (ideal <= hueco && ideal > i);
+            if (mover) {
+                claves[hueco] = claves[i];
+                pesos[hueco] = pesos[i];
+                posicionesMenor[hueco] = posicionesMenor[i];
+                posicionesMayor[hueco] = posicionesMayor[i];
+                hueco = i;
+            }
+            i = (i + 1) & mascara;
+        }
+        ocupados[hueco] = false;
+        tamanio--;
+        return true;
+    }
+
+    private void redimensionar(int nuevaCapacidad) {
+        long[] viejasClaves = claves;
+        boolean[] viejosOcupados = ocupados;
+        int[] viejosPesos = pesos;
+        int[] viejasMenor = posicionesMenor;
+        int[] viejasMayor = posicionesMayor;
+
+        inicializar(nuevaCapacidad);
+        int mascara = nuevaCapacidad - 1;
+        for (int j = 0; j < viejasClaves.length; j++) {
+            if (!viejosOcupados[j]) {
+                continue;
+            }
+            int i = hash(viejasClaves[j]);
+            while (ocupados[i]) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = viejasClaves[j];
+            ocupados[i] = true;
+            pesos[i] = viejosPesos[j];
+            posicionesMenor[i] = viejasMenor[j];
+            posicionesMayor[i] = viejasMayor[j];
+            tamanio++;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package modelo;
+
+/**
+ * Recibe los cambios de amistades de un Grafo (ver Grafo.agregarOyente).
+ *
+ * Los eventos se publican después de aplicar el cambio, con los usuarios tal como
+ * están guardados en el grafo. Sirve para que cachés e índices derivados se
+ * actualicen solo donde hace falta en lugar de recalcular todo.
+ *
+ * Todos los métodos tienen una implementación vacía por defecto: cada oyente
+ * implementa solo los eventos que le interesan.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public interface OyenteGrafo {
+
+    /**
+     * Se agregó una amistad.
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param peso peso de la nueva arista
+     */
+    default void amistadAgregada(Usuario u1, Usuario u2, int peso) {
+    }
+
+    /**
+     * Se eliminó una amistad.
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param peso peso que tenía la arista eliminada
+     */
+    default void amistadEliminada(Usuario u1, Usuario u2, int peso) {
+    }
+
+    /**
+     * Cambió el peso de una amistad.
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param pesoAnterior peso antes del cambio
+     * @param pesoNuevo peso después del cambio
+     */
+    default void pesoModificado(Usuario u1, Usuario u2, int pesoAnterior, int pesoNuevo) {
+    }
+}
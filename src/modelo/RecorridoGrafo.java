@@ -0,0 +1,133 @@
+package modelo;
+
+import java.util.BitSet;
+
+/**
+ * Motor de recorrido iterativo (BFS) sobre cualquier GrafoIndexado.
+ *
+ * A diferencia de un DFS recursivo, no usa la pila de llamadas: la cola es un
+ * arreglo de enteros de tamaño V, por lo que recorre cadenas de millones de
+ * usuarios sin StackOverflowError. Las marcas de visitados son un BitSet
+ * (1 bit por usuario).
+ *
+ * Ambas estructuras se reservan una vez y se reutilizan entre recorridos:
+ * recorrer no reserva memoria por paso. Después de cada recorrido, los usuarios
+ * alcanzados quedan en la cola en orden de visita (ver getAlcanzado).
+ *
+ * Las marcas NO se borran entre recorridos, así se pueden recorrer varias
+ * componentes seguidas; para empezar de cero se llama a reiniciar().
+ * No es seguro para uso concurrente.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class RecorridoGrafo {
+    private final GrafoIndexado grafo;
+    private BitSet visitados;
+    private int[] cola;
+    private int alcanzados;
+
+    /**
+     * @param grafo grafo a recorrer
+     */
+    public RecorridoGrafo(GrafoIndexado grafo) {
+        this.grafo = grafo;
+        int n = grafo.getNumeroVertices();
+        this.visitados = new BitSet(n);
+        this.cola = new int[n];
+    }
+
+    /**
+     * Borra las marcas de visitados. Si el grafo creció, agranda la cola.
+     */
+    public void reiniciar() {
+        visitados.clear();
+        alcanzados = 0;
+        if (cola.length < grafo.getNumeroVertices()) {
+            cola = new int[grafo.getNumeroVertices()];
+        }
+    }
+
+    /**
+     * Recorre todos los usuarios alcanzables desde el origen que no estuvieran
+     * marcados de un recorrido anterior.
+     *
+     * Complejidad: O(V + E) de la componente recorrida
+     *
+     * @param origen índice del usuario de partida
+     * @return cantidad de usuarios alcanzados (incluido el origen)
+     */
+    public int recorrer(int origen) {
+        alcanzados = 0;
+        if (visitados.get(origen)) {
+            return 0;
+        }
+
+        visitados.set(origen);
+        cola[alcanzados++] = origen;
+
+        for (int frente = 0; frente < alcanzados; frente++) {
+            int actual = cola[frente];
+            int grado = grafo.getGrado(actual);
+            for (int k = 0; k < grado; k++) {
+                int vecino = grafo.getVecino(actual, k);
+                if (!visitados.get(vecino)) {
+                    visitados.set(vecino);
+                    cola[alcanzados++] = vecino;
+                }
+            }
+        }
+        return alcanzados;
+    }
+
+    /**
+     * Verifica si el grafo es conexo con un único recorrido.
+     *
+     * @return true si desde el primer usuario se alcanzan todos
+     */
+    public boolean esConexo() {
+        int n = grafo.getNumeroVertices();
+        if (n == 0) {
+            return true;
+        }
+        reiniciar();
+        return recorrer(0) == n;
+    }
+
+    /**
+     * Cuenta los usuarios alcanzables desde el origen (sin contarlo a él).
+     *
+     * @param origen índice del usuario
+     * @return cantidad de usuarios alcanzables
+     */
+    public int contarAlcanzables(int origen) {
+        reiniciar();
+        return recorrer(origen) - 1;
+    }
+
+    /**
+     * @param k posición en el orden de visita del último recorrido (0..alcanzados-1)
+     * @return índice del k-ésimo usuario alcanzado
+     */
+    public int getAlcanzado(int k) {
+        return cola[k];
+    }
+
+    /**
+     * @return cantidad de usuarios alcanzados en el último recorrido
+     */
+    public int getCantidadAlcanzados() {
+        return alcanzados;
+    }
+
+    /**
+     * @return true si el usuario ya fue marcado por algún recorrido desde el último reinicio
+     */
+    public boolean estaVisitado(int indice) {
+        return visitados.get(indice);
+    }
+
+    public GrafoIndexado getGrafo() {
+        return grafo;
+    }
+}
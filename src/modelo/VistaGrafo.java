@@ -0,0 +1,267 @@
+package modelo;
+
+import java.util.*;
+
+/**
+ * Vista modificable sobre un grafo base que NO se modifica.
+ *
+ * Registra amistades eliminadas y agregadas como pequeños deltas, y los algoritmos la
+ * recorren como cualquier otro GrafoIndexado. Sirve para simulaciones "qué pasaría si"
+ * (bloqueos, conexiones candidatas) sin copiar el grafo completo: crear la vista es
+ * O(1) y cada cambio es O(1); solo los usuarios afectados por un cambio rearman su
+ * lista de vecinos, y recién la primera vez que se consultan.
+ *
+ * Los usuarios son los del grafo base (la vista no agrega usuarios nuevos).
+ * No es segura para uso concurrente.
+ *
+ * @author Lucas Miño
+ * @version 1.0
+ */
+public class VistaGrafo implements GrafoIndexado {
+    private final GrafoIndexado base;
+
+    // Deltas respecto del grafo base, por par de índices (menor, mayor)
+    private final Set<Long> eliminadas;
+    private final Map<Long, Integer> agregadas;
+
+    // Usuarios afectados por algún delta -> vecinos efectivos (null = rearmar al consultar)
+    private final Map<Integer, Vecindario> afectados;
+
+    // Cantidad de modificaciones hechas sobre la vista
+    private long modificaciones;
+    
+    // Mayor peso agregado en la vista
+    private int pesoMaximoAgregadas;
+
+    // Caché del último usuario consultado (los recorridos piden grado y vecinos seguidos)
+    private int ultimoIndice = -1;
+    private Vecindario ultimoVecindario;
+
+    /**
+     * Vecinos efectivos de un usuario afectado por la vista.
+     */
+    private static class Vecindario {
+        int[] vecinos;
+        int[] pesos;
+        int grado;
+    }
+
+    /**
+     * Crea una vista sin cambios sobre el grafo base.
+     *
+     * @param base grafo original (no se modifica)
+     */
+    public VistaGrafo(GrafoIndexado base) {
+        this.base = base;
+        this.eliminadas = new HashSet<>();
+        this.agregadas = new HashMap<>();
+        this.afectados = new HashMap<>();
+    }
+
+    private static long clave(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    /**
+     * Oculta una amistad del grafo base o deshace una amistad agregada en la vista.
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @return true si la amistad existía en la vista
+     */
+    public boolean eliminarAmistad(Usuario u1, Usuario u2) {
+        int i1 = base.getIndice(u1);
+        int i2 = base.getIndice(u2);
+        return i1 >= 0 && i2 >= 0 && eliminarAmistad(i1, i2);
+    }
+
+    /**
+     * Versión por índices de eliminarAmistad.
+     */
+    public boolean eliminarAmistad(int u, int v) {
+        long clave = clave(u, v);
+        if (agregadas.remove(clave) == null) {
+            if (eliminadas.contains(clave) || base.getPesoArista(u, v) < 0) {
+                return false;
+            }
+            eliminadas.add(clave);
+        }
+        marcarAfectados(u, v);
+        return true;
+    }
+
+    /**
+     * Agrega una amistad en la vista. Si existía en el grafo base y fue ocultada,
+     * se restaura (con el peso indicado).
+     *
+     * @param u1 primer usuario
+     * @param u2 segundo usuario
+     * @param peso distancia/costo de la conexión
+     * @return true si se agregó, false si ya existía o algún usuario no pertenece al grafo
+     */
+    public boolean agregarAmistad(Usuario u1, Usuario u2, int peso) {
+        int i1 = base.getIndice(u1);
+        int i2 = base.getIndice(u2);
+        return i1 >= 0 && i2 >= 0 && agregarAmistad(i1, i2, peso);
+    }
+
+    /**
+     * Versión por índices de agregarAmistad.
+     */
+    public boolean agregarAmistad(int u, int v, int peso) {
+        if (u == v || getPesoArista(u, v) >= 0) {
+            return false;
+        }
+        long clave = clave(u, v);
+        if (base.getPesoArista(u, v) == peso) {
+            // Se restaura exactamente la arista original: no hace falta delta
+            eliminadas.remove(clave);
+        } else {
+            // Si la original tenía otro peso, sigue oculta y se agrega la nueva
+            agregadas.put(clave, peso);
+            pesoMaximoAgregadas = Math.max(pesoMaximoAgregadas, peso);
+        }
+        marcarAfectados(u, v);
+        return true;
+    }
+
+    /**
+     * @return true si ambos usuarios son amigos directos en la vista
+     */
+    public boolean sonAmigos(Usuario u1, Usuario u2) {
+        int i1 = base.getIndice(u1);
+        int i2 = base.getIndice(u2);
+        return i1 >= 0 && i2 >= 0 && getPesoArista(i1, i2) >= 0;
+    }
+
+    /**
+     * @return cantidad de cambios registrados respecto del grafo base
+     */
+    public int getCantidadCambios() {
+        return eliminadas.size() + agregadas.size();
+    }
+
+    private void marcarAfectados(int u, int v) {
+        afectados.put(u, null);
+        afectados.put(v, null);
+        ultimoIndice = -1;
+        modificaciones++;
+    }
+
+    /**
+     * Obtiene los vecinos efectivos de un usuario afectado, o null si el usuario
+     * no tiene cambios (y se lee directamente del grafo base).
+     */
+    private Vecindario vecindario(int indice) {
+        if (indice == ultimoIndice) {
+            return ultimoVecindario;
+        }
+
+        Vecindario vecindario = null;
+        if (!afectados.isEmpty() && afectados.containsKey(indice)) {
+            vecindario = afectados.get(indice);
+            if (vecindario == null) {
+                vecindario = rearmar(indice);
+                afectados.put(indice, vecindario);
+            }
+        }
+
+        ultimoIndice = indice;
+        ultimoVecindario = vecindario;
+        return vecindario;
+    }
+
+    /**
+     * Vecinos del grafo base menos los ocultos, más los agregados.
+     * Cuesta O(grado + cambios) y solo se hace para usuarios afectados.
+     */
+    private Vecindario rearmar(int indice) {
+        int gradoBase = base.getGrado(indice);
+        Vecindario vecindario = new Vecindario();
+        vecindario.vecinos = new int[gradoBase + agregadas.size()];
+        vecindario.pesos = new int[vecindario.vecinos.length];
+
+        for (int k = 0; k < gradoBase; k++) {
+            int vecino = base.getVecino(indice, k);
+            if (eliminadas.isEmpty() || !eliminadas.contains(clave(indice, vecino))) {
+                vecindario.vecinos[vecindario.grado] = vecino;
+                vecindario.pesos[vecindario.grado] = base.getPesoVecino(indice, k);
+                vecindario.grado++;
+            }
+        }
+
+        for (Map.Entry<Long, Integer> entrada : agregadas.entrySet()) {
+            long clave = entrada.getKey();
+            int menor = (int) (clave >>> 32);
+            int mayor = (int) clave;
+            if (menor == indice || mayor == indice) {
+                vecindario.vecinos[vecindario.grado] = menor == indice ? mayor : menor;
+                vecindario.pesos[vecindario.grado] = entrada.getValue();
+                vecindario.grado++;
+            }
+        }
+        return vecindario;
+    }
+
+    @Override
+    public int getNumeroVertices() {
+        return base.getNumeroVertices();
+    }
+
+    @Override
+    public int getIndice(Usuario usuario) {
+        return base.getIndice(usuario);
+    }
+
+    @Override
+    public Usuario getUsuario(int indice) {
+        return base.getUsuario(indice);
+    }
+
+    @Override
+    public int getGrado(int indice) {
+        Vecindario vecindario = vecindario(indice);
+        return vecindario != null ? vecindario.grado : base.getGrado(indice);
+    }
+
+    @Override
+    public int getVecino(int indice, int k) {
+        Vecindario vecindario = vecindario(indice);
+        return vecindario != null ? vecindario.vecinos[k] : base.getVecino(indice, k);
+    }
+
+    @Override
+    public int getPesoVecino(int indice, int k) {
+        Vecindario vecindario = vecindario(indice);
+        return vecindario != null ? vecindario.pesos[k] : base.getPesoVecino(indice, k);
+    }
+
+    @Override
+    public int getPesoMaximo() {
+        return Math.max(base.getPesoMaximo(), pesoMaximoAgregadas);
+    }
+    
+    /**
+     * La versión de la vista avanza tanto con cambios en la vista como en el grafo base.
+     */
+    @Override
+    public long getVersion() {
+        return base.getVersion() + modificaciones;
+    }
+
+    @Override
+    public int getPesoArista(int u, int v) {
+        if (agregadas.isEmpty() && eliminadas.isEmpty()) {
+            return base.getPesoArista(u, v);
+        }
+        long clave = clave(u, v);
+        Integer agregada = agregadas.get(clave);
+        if (agregada != null) {
+            return agregada;
+        }
+        if (eliminadas.contains(clave)) {
+            return -1;
+        }
+        return base.getPesoArista(u, v);
+    }
+}
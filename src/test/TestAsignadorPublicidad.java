@@ -2,7 +2,10 @@ package test;
 
 import algoritmos.programaciondinamica.AsignadorPublicidad;
 import algoritmos.programaciondinamica.ResultadoAsignacion;
+import algoritmos.programaciondinamica.ServicioAsignacionPublicidad;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 import modelo.Anuncio;
 import modelo.Usuario;
 
@@ -294,6 +297,341 @@ public class TestAsignadorPublicidad {
         System.out.println("\n✓ Casos especiales completados");
     }
     
+    /**
+     * Test 8: Tabla de decisiones compacta (1 bit por celda)
+     */
+    public void testDecisionesCompactas() {
+        System.out.println("\n=== TEST 8: TABLA DE DECISIONES COMPACTA ===");
+        
+        Usuario usuario = new Usuario(1, "Test User", "estudiante");
+        List<Anuncio> anuncios = generarAnunciosAleatorios(200, 10, 500, 50, 1000);
+        int presupuesto = 20000;
+        
+        ResultadoAsignacion resultado1 = asignador.asignarAnuncios(usuario, anuncios, presupuesto);
+        ResultadoAsignacion resultado2 = asignador.asignarAnunciosCompacto(usuario, anuncios, presupuesto);
+        
+        long bytesMatriz = 4L * (anuncios.size() + 1) * (presupuesto + 1);
+        long bytesBits = 8L * anuncios.size() * ((presupuesto >>> 6) + 1) + 4L * (presupuesto + 1);
+        System.out.println("Alcance: " + resultado2.getAlcanceTotal() + ", anuncios: " + resultado2.getNumeroAnuncios());
+        System.out.println("Memoria matriz: " + bytesMatriz + " bytes");
+        System.out.println("Memoria bits:   " + bytesBits + " bytes");
+        System.out.println("Resultados coinciden: " + (resultado1.getAlcanceTotal() == resultado2.getAlcanceTotal()
+                && resultado1.getCostoTotal() == resultado2.getCostoTotal()
+                && resultado1.getAnunciosSeleccionados().equals(resultado2.getAnunciosSeleccionados())));
+        
+        System.out.println("\n✓ Test de decisiones compactas completado");
+    }
+    
+    /**
+     * Test 9: Reconstrucción por divide y conquista en memoria O(W)
+     */
+    public void testDivideConquista() {
+        System.out.println("\n=== TEST 9: RECONSTRUCCIÓN DIVIDE Y CONQUISTA ===");
+        
+        Usuario usuario = new Usuario(1, "Test User", "estudiante");
+        List<Anuncio> anuncios = generarAnunciosAleatorios(200, 10, 500, 50, 1000);
+        int presupuesto = 20000;
+        
+        ResultadoAsignacion resultado1 = asignador.asignarAnuncios(usuario, anuncios, presupuesto);
+        long operaciones1 = asignador.getOperaciones();
+        ResultadoAsignacion resultado2 = asignador.asignarAnunciosDivideConquista(usuario, anuncios, presupuesto);
+        long operaciones2 = asignador.getOperaciones();
+        
+        System.out.println("Alcance: " + resultado2.getAlcanceTotal() + ", costo: " + resultado2.getCostoTotal());
+        System.out.println("Operaciones (matriz): " + operaciones1);
+        System.out.println("Operaciones (divide y conquista): " + operaciones2);
+        System.out.println("Memoria: 2 × " + (presupuesto + 1) + " enteros");
+        System.out.println("Resultados coinciden: " + (resultado1.getAlcanceTotal() == resultado2.getAlcanceTotal()
+                && resultado2.getCostoTotal() <= presupuesto));
+        
+        System.out.println("\n✓ Test de divide y conquista completado");
+    }
+    
+    /**
+     * Test 10: Servicio con tablas cacheadas por perfil
+     */
+    public void testServicioCacheado() {
+        System.out.println("\n=== TEST 10: SERVICIO CON TABLAS POR PERFIL ===");
+        
+        List<Anuncio> anuncios = generarAnunciosAleatorios(100, 10, 300, 50, 500);
+        anuncios.add(new Anuncio(101, "Beca", 40, 400, "estudiante"));
+        anuncios.add(new Anuncio(102, "Congreso", 90, 600, "profesor"));
+        ServicioAsignacionPublicidad servicio = new ServicioAsignacionPublicidad(anuncios);
+        
+        String[] perfiles = {"estudiante", "profesor", "investigador"};
+        Random random = new Random(10);
+        boolean coinciden = true;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < 1000; i++) {
+            Usuario usuario = new Usuario(i, "Usuario" + i, perfiles[i % perfiles.length]);
+            int presupuesto = 500 + random.nextInt(4500);
+            ResultadoAsignacion resultado = servicio.asignarAnuncios(usuario, presupuesto);
+            if (i % 50 == 0) {
+                ResultadoAsignacion esperado = asignador.asignarAnuncios(usuario, anuncios, presupuesto);
+                coinciden &= esperado.getAlcanceTotal() == resultado.getAlcanceTotal()
+                        && esperado.getAnunciosSeleccionados().equals(resultado.getAnunciosSeleccionados());
+            }
+        }
+        long tiempo = System.nanoTime() - inicio;
+        
+        System.out.println("Usuarios atendidos: 1000");
+        System.out.println("Tablas armadas: " + servicio.getConstrucciones() + ", aciertos: " + servicio.getAciertos());
+        System.out.println("Tiempo total: " + (tiempo / 1_000_000.0) + " ms");
+        
+        // Consultas concurrentes de todos los perfiles con presupuestos crecientes
+        ServicioAsignacionPublicidad concurrente = new ServicioAsignacionPublicidad(anuncios);
+        int[] presupuestos = new int[400];
+        ResultadoAsignacion[] esperados = new ResultadoAsignacion[presupuestos.length];
+        for (int i = 0; i < presupuestos.length; i++) {
+            presupuestos[i] = 100 + 12 * i + random.nextInt(12);
+            Usuario usuario = new Usuario(i, "Usuario" + i, perfiles[i % perfiles.length]);
+            esperados[i] = asignador.asignarAnuncios(usuario, anuncios, presupuestos[i]);
+        }
+        AtomicBoolean coincidenConcurrentes = new AtomicBoolean(true);
+        IntStream.range(0, presupuestos.length).parallel().forEach(i -> {
+            Usuario usuario = new Usuario(i, "Usuario" + i, perfiles[i % perfiles.length]);
+            ResultadoAsignacion resultado = concurrente.asignarAnuncios(usuario, presupuestos[i]);
+            if (resultado.getAlcanceTotal() != esperados[i].getAlcanceTotal()
+                    || !resultado.getAnunciosSeleccionados().equals(esperados[i].getAnunciosSeleccionados())) {
+                coincidenConcurrentes.set(false);
+            }
+        });
+        coinciden &= coincidenConcurrentes.get();
+        System.out.println("Concurrentes: " + presupuestos.length + " usuarios, tablas armadas: "
+                + concurrente.getConstrucciones());
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de servicio cacheado completado");
+    }
+    
+    /**
+     * Test 11: Presupuesto y tiempo máximo del usuario (mochila de dos dimensiones)
+     */
+    public void testConTiempo() {
+        System.out.println("\n=== TEST 11: PRESUPUESTO Y TIEMPO MÁXIMO ===");
+        
+        Usuario usuario = new Usuario(1, "Test User", "test@universidad.edu", "estudiante", 90);
+        List<Anuncio> anuncios = new ArrayList<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 150; i++) {
+            int costo = 10 + random.nextInt(91);
+            int alcance = 50 + random.nextInt(451);
+            int duracion = 5 + random.nextInt(56);
+            anuncios.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), "", costo, alcance, duracion, null));
+        }
+        int presupuesto = 500;
+        
+        ResultadoAsignacion sinTiempo = asignador.asignarAnuncios(usuario, anuncios, presupuesto);
+        ResultadoAsignacion conTiempo = asignador.asignarAnunciosConTiempo(usuario, anuncios, presupuesto);
+        
+        System.out.println("Tiempo máximo del usuario: " + usuario.getTiempoMaximoAnuncios() + " segundos");
+        System.out.println("Sin restricción de tiempo: alcance " + sinTiempo.getAlcanceTotal()
+                + ", duración " + sinTiempo.getDuracionTotal() + " segundos");
+        System.out.println("Con restricción de tiempo: alcance " + conTiempo.getAlcanceTotal()
+                + ", costo " + conTiempo.getCostoTotal() + ", duración " + conTiempo.getDuracionTotal() + " segundos");
+        System.out.println("Anuncios podados: " + asignador.getAnunciosPodados() + " de " + anuncios.size());
+        
+        // Óptimo de referencia: DP de dos dimensiones sin poda
+        int tiempoMaximo = usuario.getTiempoMaximoAnuncios();
+        boolean coinciden = seleccionValida(conTiempo, presupuesto, tiempoMaximo)
+                && conTiempo.getAlcanceTotal() == alcanceOptimoConTiempo(anuncios, presupuesto, tiempoMaximo)
+                && conTiempo.getAlcanceTotal() <= sinTiempo.getAlcanceTotal();
+        
+        // Catálogos chicos contra fuerza bruta, con muchos anuncios dominados o repetidos
+        int instancias = 500;
+        int conPoda = 0;
+        for (int caso = 0; caso < instancias; caso++) {
+            int cantidad = 1 + random.nextInt(14);
+            List<Anuncio> catalogo = new ArrayList<>();
+            for (int i = 0; i < cantidad; i++) {
+                if (i > 0 && random.nextInt(4) == 0) {
+                    // Copia (o versión peor) de un anuncio anterior
+                    Anuncio base = catalogo.get(random.nextInt(i));
+                    catalogo.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), "",
+                            base.getCosto() + random.nextInt(3), base.getAlcancePotencial() - random.nextInt(3),
+                            base.getDuracion() + random.nextInt(3), null));
+                } else {
+                    catalogo.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), "", 1 + random.nextInt(30),
+                            1 + random.nextInt(50), 1 + random.nextInt(20), null));
+                }
+            }
+            int limiteTiempo = random.nextInt(61);
+            int limitePresupuesto = random.nextInt(121);
+            Usuario chico = new Usuario(2, "Usuario", "usuario@universidad.edu", "estudiante", limiteTiempo);
+            
+            ResultadoAsignacion resultado = asignador.asignarAnunciosConTiempo(chico, catalogo, limitePresupuesto);
+            if (asignador.getAnunciosPodados() > 0) {
+                conPoda++;
+            }
+            coinciden &= seleccionValida(resultado, limitePresupuesto, limiteTiempo)
+                    && resultado.getAlcanceTotal() == alcanceFuerzaBruta(catalogo, limitePresupuesto, limiteTiempo);
+        }
+        System.out.println("Fuerza bruta: " + instancias + " catálogos chicos, " + conPoda + " con anuncios podados");
+        
+        // Tabla chica pero muchos bits de decisión: se rechaza antes de reservarlos
+        List<Anuncio> sinDominados = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            sinDominados.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), "", i + 1, 10, 40 - i, null));
+        }
+        Usuario paciente = new Usuario(3, "Usuario", "usuario@universidad.edu", "estudiante", 999);
+        boolean rechazada = false;
+        try {
+            asignador.asignarAnunciosConTiempo(paciente, sinDominados, 200_000);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Rechazada: " + e.getMessage());
+            rechazada = true;
+        }
+        coinciden &= rechazada;
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test con tiempo completado");
+    }
+    
+    /**
+     * Test 12: Preprocesamiento (escala por MCD, dominados y división binaria)
+     */
+    public void testReducido() {
+        System.out.println("\n=== TEST 12: PREPROCESAMIENTO DEL CATÁLOGO ===");
+        
+        // Catálogo con costos múltiplos de 50 y muchos anuncios repetidos
+        Usuario usuario = new Usuario(1, "Test User", "estudiante");
+        List<Anuncio> anuncios = new ArrayList<>();
+        Random random = new Random(12);
+        for (int i = 0; i < 400; i++) {
+            int costo = 50 * (1 + random.nextInt(20));
+            int alcance = 100 * (1 + random.nextInt(10));
+            anuncios.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), costo, alcance));
+        }
+        int presupuesto = 10000;
+        
+        ResultadoAsignacion resultado1 = asignador.asignarAnuncios(usuario, anuncios, presupuesto);
+        long operaciones1 = asignador.getOperaciones();
+        ResultadoAsignacion resultado2 = asignador.asignarAnunciosReducido(usuario, anuncios, presupuesto);
+        long operaciones2 = asignador.getOperaciones();
+        
+        System.out.println("Alcance: " + resultado2.getAlcanceTotal() + ", costo: " + resultado2.getCostoTotal());
+        System.out.println("Anuncios podados: " + asignador.getAnunciosPodados() + " de " + anuncios.size());
+        System.out.println("Operaciones (sin preproceso): " + operaciones1);
+        System.out.println("Operaciones (con preproceso): " + operaciones2);
+        System.out.println("Reducción: " + String.format("%.1fx", (double) operaciones1 / operaciones2));
+        boolean coinciden = resultado1.getAlcanceTotal() == resultado2.getAlcanceTotal()
+                && resultado2.getCostoTotal() <= presupuesto;
+        
+        // Catálogos chicos contra fuerza bruta: gratis, costos que no son múltiplos,
+        // pares (costo, alcance) repetidos y la misma instancia más de una vez
+        int instancias = 500;
+        for (int caso = 0; caso < instancias; caso++) {
+            int cantidad = 1 + random.nextInt(14);
+            int base = 1 + random.nextInt(4);
+            List<Anuncio> catalogo = new ArrayList<>();
+            for (int i = 0; i < cantidad; i++) {
+                int tipo = random.nextInt(6);
+                if (i > 0 && tipo == 0) {
+                    catalogo.add(catalogo.get(random.nextInt(i)));
+                } else if (i > 0 && tipo == 1) {
+                    Anuncio copia = catalogo.get(random.nextInt(i));
+                    catalogo.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), copia.getCosto(), copia.getAlcancePotencial()));
+                } else if (tipo == 2) {
+                    catalogo.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), 0, random.nextInt(20)));
+                } else {
+                    int costo = random.nextInt(4) == 0 ? 1 + random.nextInt(40) : base * (1 + random.nextInt(10));
+                    catalogo.add(new Anuncio(i + 1, "Anuncio_" + (i + 1), costo, random.nextInt(50)));
+                }
+            }
+            int limitePresupuesto = 1 + random.nextInt(120);
+            
+            ResultadoAsignacion resultado = asignador.asignarAnunciosReducido(usuario, catalogo, limitePresupuesto);
+            coinciden &= seleccionDelCatalogo(resultado, catalogo, limitePresupuesto)
+                    && resultado.getAlcanceTotal() == alcanceFuerzaBruta(catalogo, limitePresupuesto, Integer.MAX_VALUE);
+        }
+        System.out.println("Fuerza bruta: " + instancias + " catálogos chicos");
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de preprocesamiento completado");
+    }
+    
+    /**
+     * @return true si la selección no repite anuncios, respeta presupuesto y tiempo,
+     *         y sus totales coinciden con los informados
+     */
+    private boolean seleccionValida(ResultadoAsignacion resultado, int presupuesto, int tiempoMaximo) {
+        List<Anuncio> seleccionados = resultado.getAnunciosSeleccionados();
+        int costo = 0;
+        int alcance = 0;
+        int duracion = 0;
+        for (Anuncio anuncio : seleccionados) {
+            costo += anuncio.getCosto();
+            alcance += anuncio.getAlcancePotencial();
+            duracion += anuncio.getDuracion();
+        }
+        return new HashSet<>(seleccionados).size() == seleccionados.size()
+                && costo == resultado.getCostoTotal() && costo <= presupuesto
+                && alcance == resultado.getAlcanceTotal()
+                && duracion == resultado.getDuracionTotal() && duracion <= tiempoMaximo;
+    }
+    
+    /**
+     * Mochila de dos dimensiones sin poda: máximo alcance con costo <= presupuesto
+     * y duración <= tiempoMaximo.
+     */
+    private int alcanceOptimoConTiempo(List<Anuncio> anuncios, int presupuesto, int tiempoMaximo) {
+        int[][] dp = new int[presupuesto + 1][tiempoMaximo + 1];
+        for (Anuncio anuncio : anuncios) {
+            for (int w = presupuesto; w >= anuncio.getCosto(); w--) {
+                for (int t = tiempoMaximo; t >= anuncio.getDuracion(); t--) {
+                    dp[w][t] = Math.max(dp[w][t],
+                            dp[w - anuncio.getCosto()][t - anuncio.getDuracion()] + anuncio.getAlcancePotencial());
+                }
+            }
+        }
+        return dp[presupuesto][tiempoMaximo];
+    }
+    
+    /**
+     * Prueba todos los subconjuntos (catálogos chicos).
+     */
+    private int alcanceFuerzaBruta(List<Anuncio> anuncios, int presupuesto, int tiempoMaximo) {
+        int mejor = 0;
+        for (int subconjunto = 0; subconjunto < (1 << anuncios.size()); subconjunto++) {
+            int costo = 0;
+            int duracion = 0;
+            int alcance = 0;
+            for (int i = 0; i < anuncios.size(); i++) {
+                if ((subconjunto & (1 << i)) != 0) {
+                    costo += anuncios.get(i).getCosto();
+                    duracion += anuncios.get(i).getDuracion();
+                    alcance += anuncios.get(i).getAlcancePotencial();
+                }
+            }
+            if (costo <= presupuesto && duracion <= tiempoMaximo) {
+                mejor = Math.max(mejor, alcance);
+            }
+        }
+        return mejor;
+    }
+    
+    /**
+     * Verifica que cada anuncio elegido aparezca en el catálogo (una instancia
+     * repetida cuenta tantas veces como aparece) y que los totales cierren.
+     */
+    private boolean seleccionDelCatalogo(ResultadoAsignacion resultado, List<Anuncio> catalogo, int presupuesto) {
+        Map<Anuncio, Integer> disponibles = new IdentityHashMap<>();
+        for (Anuncio anuncio : catalogo) {
+            disponibles.merge(anuncio, 1, Integer::sum);
+        }
+        int costo = 0;
+        int alcance = 0;
+        for (Anuncio anuncio : resultado.getAnunciosSeleccionados()) {
+            if (disponibles.merge(anuncio, -1, Integer::sum) < 0) {
+                return false;
+            }
+            costo += anuncio.getCosto();
+            alcance += anuncio.getAlcancePotencial();
+        }
+        return costo == resultado.getCostoTotal() && costo <= presupuesto
+                && alcance == resultado.getAlcanceTotal();
+    }
+    
     /**
      * Genera una lista de anuncios aleatorios.
      */
@@ -330,6 +668,11 @@ public class TestAsignadorPublicidad {
         testAnalisisComplejidad();
         testVersionOptimizada();
         testCasosEspeciales();
+        testDecisionesCompactas();
+        testDivideConquista();
+        testServicioCacheado();
+        testConTiempo();
+        testReducido();
         
         System.out.println("\n------------------------------------------------------------");
         System.out.println("--             TODOS LOS TESTS COMPLETADOS ✓              --");
@@ -1,11 +1,26 @@
 package test;
 
+import algoritmos.greedy.CacheRecomendaciones;
+import algoritmos.greedy.DistanciasDinamicas;
 import algoritmos.greedy.EstadisticasConectividad;
+import algoritmos.greedy.IndiceLandmarks;
 import algoritmos.greedy.RecomendacionAmigo;
 import algoritmos.greedy.RecomendadorAmigos;
+import algoritmos.greedy.RecomendadorLotes;
+import algoritmos.greedy.TipoCola;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import modelo.Arista;
+import modelo.CargadorGrafo;
 import modelo.Grafo;
+import modelo.GrafoCSR;
+import modelo.GrafoIndexado;
+import modelo.GrafoMapeado;
 import modelo.Usuario;
+import modelo.VistaGrafo;
 
 /**
  * Set de pruebas para RecomendadorAmigos (Algoritmo de Dijkstra).
@@ -322,6 +337,865 @@ public class TestRecomendadorAmigos {
         System.out.println("\n✓ Casos especiales completados");
     }
     
+    /**
+     * Test 7: Representación CSR vs listas de adyacencia
+     */
+    public void testRepresentacionCSR() {
+        System.out.println("\n=== TEST 7: REPRESENTACIÓN CSR ===");
+        
+        Grafo grafo = generarRedAleatoria(200, 500);
+        GrafoCSR csr = new GrafoCSR(grafo);
+        System.out.println(csr);
+        
+        Usuario usuario = grafo.getUsuarios().iterator().next();
+        
+        long inicio1 = System.nanoTime();
+        Map<Usuario, Integer> distancias1 = recomendador.calcularDistancias(grafo, usuario);
+        long tiempo1 = System.nanoTime() - inicio1;
+        
+        long inicio2 = System.nanoTime();
+        Map<Usuario, Integer> distancias2 = recomendador.calcularDistancias(csr, usuario);
+        long tiempo2 = System.nanoTime() - inicio2;
+        
+        System.out.println("Tiempo con listas: " + (tiempo1 / 1_000_000.0) + " ms");
+        System.out.println("Tiempo con CSR: " + (tiempo2 / 1_000_000.0) + " ms");
+        System.out.println("Resultados coinciden: " + distancias1.equals(distancias2));
+        
+        System.out.println("\n✓ Test CSR completado");
+    }
+    
+    /**
+     * Test 8: Índice de amistades (hash abierto) contra un HashMap
+     */
+    public void testIndiceAristas() {
+        System.out.println("\n=== TEST 8: ÍNDICE DE AMISTADES ===");
+        
+        // 12 usuarios con hasta 46 amistades: tabla chica casi llena, los racimos de
+        // sondeo dan la vuelta al final del arreglo. 200 usuarios con hasta 6100:
+        // el índice se redimensiona varias veces y después trabaja casi lleno
+        int[][] configuraciones = {{12, 46}, {200, 6100}};
+        Random random = new Random(8);
+        boolean coinciden = true;
+        int eliminadas = 0;
+        
+        for (int[] configuracion : configuraciones) {
+            int numUsuarios = configuracion[0];
+            int limite = configuracion[1];
+            Grafo grafo = new Grafo();
+            Usuario[] usuarios = new Usuario[numUsuarios];
+            for (int i = 0; i < numUsuarios; i++) {
+                usuarios[i] = new Usuario(i + 1, "Usuario" + (i + 1), "estudiante");
+                grafo.agregarUsuario(usuarios[i]);
+            }
+            Map<Long, Integer> referencia = new HashMap<>();
+            int pasos = 0;
+            
+            // Fase 0: crecer; fase 1: altas y bajas casi lleno; fase 2: vaciar
+            for (int fase = 0; fase < 3; fase++) {
+                int pasosFase = 0;
+                while (fase == 0 ? referencia.size() < limite : fase == 1 ? pasosFase < 30000 : !referencia.isEmpty()) {
+                    pasosFase++;
+                    Usuario a = usuarios[random.nextInt(numUsuarios)];
+                    Usuario b = usuarios[random.nextInt(numUsuarios)];
+                    long clave = ((long) Math.min(a.getId(), b.getId()) << 32) | Math.max(a.getId(), b.getId());
+                    boolean existe = referencia.containsKey(clave);
+                    
+                    if (existe && fase > 0 && (fase == 2 || random.nextBoolean())) {
+                        coinciden &= grafo.eliminarAmistad(a, b);
+                        referencia.remove(clave);
+                        eliminadas++;
+                    } else if (existe && random.nextInt(4) == 0) {
+                        int peso = 1 + random.nextInt(20);
+                        coinciden &= grafo.setPesoArista(b, a, peso);
+                        referencia.put(clave, peso);
+                    } else if (fase < 2 && referencia.size() < limite) {
+                        // Si ya existe (o a == b) no se agrega nada
+                        int peso = 1 + random.nextInt(20);
+                        grafo.agregarAmistad(a, b, peso);
+                        if (!existe && !a.equals(b)) {
+                            referencia.put(clave, peso);
+                        }
+                    } else if (!existe) {
+                        coinciden &= !grafo.eliminarAmistad(a, b);
+                    }
+                    
+                    Integer peso = referencia.get(clave);
+                    coinciden &= grafo.sonAmigos(a, b) == (peso != null) && grafo.sonAmigos(b, a) == (peso != null)
+                            && grafo.getPesoArista(a, b) == (peso != null ? peso : -1)
+                            && grafo.getPesoArista(b, a) == (peso != null ? peso : -1);
+                    
+                    if (++pasos % Math.min(2000, limite) == 0) {
+                        coinciden &= mismoIndice(grafo, usuarios, referencia);
+                    }
+                }
+                coinciden &= mismoIndice(grafo, usuarios, referencia);
+            }
+            System.out.println(numUsuarios + " usuarios, hasta " + limite + " amistades: " + pasos + " pasos");
+        }
+        
+        System.out.println("Amistades eliminadas: " + eliminadas);
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de índice de amistades completado");
+    }
+    
+    /**
+     * Compara todas las amistades del grafo (listas de adyacencia e índice) con
+     * la referencia.
+     */
+    private boolean mismoIndice(Grafo grafo, Usuario[] usuarios, Map<Long, Integer> referencia) {
+        if (grafo.getNumeroAristas() != referencia.size()) {
+            return false;
+        }
+        for (Map.Entry<Long, Integer> entrada : referencia.entrySet()) {
+            Usuario a = usuarios[(int) (entrada.getKey() >>> 32) - 1];
+            Usuario b = usuarios[(int) (long) entrada.getKey() - 1];
+            if (grafo.getPesoArista(a, b) != entrada.getValue()) {
+                return false;
+            }
+        }
+        int grados = 0;
+        for (Usuario usuario : usuarios) {
+            for (Arista arista : grafo.getVecinos(usuario)) {
+                int otro = arista.getDestino().getId();
+                long clave = ((long) Math.min(usuario.getId(), otro) << 32) | Math.max(usuario.getId(), otro);
+                if (!Integer.valueOf(arista.getPeso()).equals(referencia.get(clave))) {
+                    return false;
+                }
+            }
+            grados += grafo.getGrado(usuario);
+        }
+        return grados == 2 * referencia.size();
+    }
+    
+    /**
+     * Test 9: Carga masiva con CargadorGrafo vs agregarAmistad
+     */
+    public void testCargadorGrafo() {
+        System.out.println("\n=== TEST 9: CARGA MASIVA (CargadorGrafo) ===");
+        
+        Map<Integer, Usuario> usuariosPorId = new HashMap<>();
+        for (int id = 1; id <= 5; id++) {
+            usuariosPorId.put(id, new Usuario(id, "Usuario" + id, "estudiante"));
+        }
+        
+        // Duplicados (también invertidos), bucle, id desconocido y líneas inválidas
+        List<String> lineas = Arrays.asList(
+                "# id1 id2 interacciones",
+                "1 2 10",
+                "2 1 99",
+                "1 2 5",
+                "3 3 4",
+                "1 99 3",
+                "sin formato",
+                "2,3,7",
+                "4\t5\t1",
+                "",
+                "5 1 40");
+        
+        CargadorGrafo cargador = new CargadorGrafo();
+        Grafo esperado = new Grafo();
+        for (int id = 1; id <= 5; id++) {
+            cargador.agregarUsuario(usuariosPorId.get(id));
+            esperado.agregarUsuario(usuariosPorId.get(id));
+        }
+        cargador.cargarInteracciones(lineas.iterator(), usuariosPorId);
+        Grafo cargado = cargador.construir();
+        
+        int[][] aristas = { {1, 2, 10}, {2, 1, 99}, {1, 2, 5}, {3, 3, 4}, {2, 3, 7}, {4, 5, 1}, {5, 1, 40} };
+        for (int[] arista : aristas) {
+            esperado.agregarAmistadPorInteracciones(usuariosPorId.get(arista[0]),
+                    usuariosPorId.get(arista[1]), arista[2]);
+        }
+        
+        System.out.println("Aristas registradas: " + cargador.getCantidadAristas()
+                + ", amistades: " + cargado.getNumeroAristas()
+                + ", líneas descartadas: " + cargador.getLineasDescartadas());
+        boolean coinciden = mismaAdyacencia(esperado, cargado)
+                && cargado.getNumeroAristas() == 4
+                && cargador.getLineasDescartadas() == 2
+                && cargado.getPesoMaximo() == esperado.getPesoMaximo()
+                && cargado.getIndice(new Usuario(99, "Nadie", "estudiante")) == -1;
+        
+        // Red aleatoria con repeticiones y bucles, cargada de las dos formas
+        Random random = new Random(13);
+        Usuario[] usuarios = new Usuario[1000];
+        for (int i = 0; i < usuarios.length; i++) {
+            usuarios[i] = new Usuario(i + 1, "Usuario" + (i + 1), "estudiante");
+        }
+        CargadorGrafo cargadorGrande = new CargadorGrafo(5000);
+        Grafo esperadoGrande = new Grafo();
+        for (int e = 0; e < 8000; e++) {
+            Usuario u = usuarios[random.nextInt(300)];
+            Usuario v = usuarios[random.nextInt(random.nextInt(10) == 0 ? 300 : usuarios.length)];
+            int peso = random.nextInt(20) + 1;
+            cargadorGrande.agregarAmistad(u, v, peso);
+            esperadoGrande.agregarAmistad(u, v, peso);
+        }
+        Grafo cargadoGrande = cargadorGrande.construir();
+        coinciden &= mismaAdyacencia(esperadoGrande, cargadoGrande)
+                && cargadoGrande.getNumeroAristas() == esperadoGrande.getNumeroAristas();
+        
+        // El grafo cargado sigue admitiendo modificaciones como cualquier otro
+        cargadoGrande.agregarAmistad(usuarios[0], usuarios[999], 3);
+        esperadoGrande.agregarAmistad(usuarios[0], usuarios[999], 3);
+        coinciden &= mismaAdyacencia(esperadoGrande, cargadoGrande);
+        
+        System.out.println("Red aleatoria: " + cargadoGrande.getNumeroAristas() + " amistades de "
+                + cargadorGrande.getCantidadAristas() + " registradas");
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de carga masiva completado");
+    }
+    
+    /**
+     * Test 10: Snapshot binario mapeado en memoria (GrafoMapeado)
+     */
+    public void testGrafoMapeado() {
+        System.out.println("\n=== TEST 10: SNAPSHOT MAPEADO ===");
+        
+        Grafo grafo = generarRedAleatoria(2000, 8000);
+        grafo.agregarUsuario(new Usuario(5000, "Sin Amigos", null, "profesor", 30));
+        boolean coinciden;
+        Path archivo = null;
+        Path invalido = null;
+        try {
+            archivo = Files.createTempFile("grafo", ".rsug");
+            GrafoMapeado.guardar(grafo, archivo);
+            GrafoMapeado mapeado = GrafoMapeado.abrir(archivo);
+            System.out.println(mapeado);
+            
+            coinciden = mismaAdyacencia(grafo, mapeado)
+                    && mapeado.getNumeroAristas() == grafo.getNumeroAristas()
+                    && mapeado.getPesoMaximo() == grafo.getPesoMaximo()
+                    && mapeado.getIndice(new Usuario(99999, "Nadie", "estudiante")) == -1;
+            
+            // Datos de los usuarios (incluido un texto null)
+            for (int i = 0; i < grafo.getNumeroVertices(); i++) {
+                Usuario original = grafo.getUsuario(i);
+                Usuario leido = mapeado.getUsuario(i);
+                coinciden &= Objects.equals(original.getNombre(), leido.getNombre())
+                        && Objects.equals(original.getEmail(), leido.getEmail())
+                        && Objects.equals(original.getPerfil(), leido.getPerfil())
+                        && original.getTiempoMaximoAnuncios() == leido.getTiempoMaximoAnuncios();
+            }
+            
+            // Mismas distancias recorriendo el archivo mapeado
+            Usuario origen = grafo.getUsuario(0);
+            coinciden &= recomendador.calcularDistancias(grafo, origen)
+                    .equals(recomendador.calcularDistancias(mapeado, origen));
+            
+            // Cabeceras inválidas: número mágico y versión de formato
+            byte[] bytes = Files.readAllBytes(archivo);
+            invalido = Files.createTempFile("grafo", ".rsug");
+            bytes[0] ^= 0x7F;
+            Files.write(invalido, bytes);
+            coinciden &= rechazaSnapshot(invalido, "El archivo no es un snapshot de grafo");
+            bytes[0] ^= 0x7F;
+            bytes[7] = 99;
+            Files.write(invalido, bytes);
+            coinciden &= rechazaSnapshot(invalido, "Versión de snapshot no soportada: 99");
+        } catch (IOException e) {
+            System.out.println("Error de E/S: " + e.getMessage());
+            coinciden = false;
+        } finally {
+            borrar(archivo);
+            borrar(invalido);
+        }
+        
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de snapshot mapeado completado");
+    }
+    
+    /**
+     * @return true si abrir el archivo falla con el mensaje esperado
+     */
+    private boolean rechazaSnapshot(Path archivo, String mensaje) {
+        try {
+            GrafoMapeado.abrir(archivo);
+            return false;
+        } catch (IOException e) {
+            System.out.println("Rechazado: " + e.getMessage());
+            return mensaje.equals(e.getMessage());
+        }
+    }
+    
+    private void borrar(Path archivo) {
+        if (archivo != null) {
+            try {
+                Files.deleteIfExists(archivo);
+            } catch (IOException e) {
+                // Archivo temporal: si no se puede borrar, lo limpia el sistema
+            }
+        }
+    }
+    
+    /**
+     * Test 11: Vista con bloqueos y amistades nuevas vs copia con los mismos cambios
+     */
+    public void testVistaGrafo() {
+        System.out.println("\n=== TEST 11: VISTA DEL GRAFO (VistaGrafo) ===");
+        
+        Random random = new Random(11);
+        boolean coinciden = true;
+        int cambios = 0;
+        for (int caso = 0; caso < 40; caso++) {
+            int numUsuarios = 10 + random.nextInt(40);
+            Grafo base = generarRedAleatoria(numUsuarios, 2 * numUsuarios);
+            VistaGrafo vista = new VistaGrafo(base);
+            Grafo copia = base.copiar();
+            Grafo original = base.copiar();
+            
+            for (int paso = 0; paso < 200; paso++) {
+                int u = random.nextInt(numUsuarios);
+                int v = random.nextInt(numUsuarios);
+                int opcion = random.nextInt(4);
+                if (opcion < 2) {
+                    coinciden &= vista.eliminarAmistad(u, v)
+                            == copia.eliminarAmistad(copia.getUsuario(u), copia.getUsuario(v));
+                } else {
+                    int peso = 1 + random.nextInt(20);
+                    if (opcion == 3 && base.getGrado(u) > 0) {
+                        // Restaurar una amistad original, a veces con el mismo peso
+                        int k = random.nextInt(base.getGrado(u));
+                        v = base.getVecino(u, k);
+                        if (random.nextBoolean()) {
+                            peso = base.getPesoVecino(u, k);
+                        }
+                    }
+                    boolean agrega = u != v && copia.getPesoArista(u, v) < 0;
+                    coinciden &= vista.agregarAmistad(u, v, peso) == agrega;
+                    copia.agregarAmistad(copia.getUsuario(u), copia.getUsuario(v), peso);
+                }
+                coinciden &= vista.getPesoArista(u, v) == copia.getPesoArista(u, v)
+                        && vista.getPesoArista(v, u) == copia.getPesoArista(v, u);
+                cambios++;
+                
+                // Leer la vista entre cambios: los vecindarios se rearman de a poco
+                if (paso % 10 == 0) {
+                    int origen = random.nextInt(numUsuarios);
+                    coinciden &= mismaAdyacencia(copia, vista)
+                            && Arrays.equals(recomendador.calcularDistancias(copia, origen),
+                                    recomendador.calcularDistancias(vista, origen));
+                }
+            }
+            // La vista no modifica el grafo base
+            coinciden &= mismaAdyacencia(copia, vista) && mismaAdyacencia(original, base);
+        }
+        
+        System.out.println("Cambios aplicados a vistas: " + cambios);
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de vista completado");
+    }
+    
+    /**
+     * Test 12: Colas de prioridad - heap binario, montículo indexado y buckets de Dial
+     */
+    public void testColasPrioridad() {
+        System.out.println("\n=== TEST 12: COLAS DE PRIORIDAD ===");
+        
+        Grafo grafo = generarRedAleatoria(2000, 8000);
+        Usuario usuario = grafo.getUsuarios().iterator().next();
+        int origen = grafo.getIndice(usuario);
+        System.out.println("Peso máximo del grafo: " + grafo.getPesoMaximo());
+        
+        int[] referencia = null;
+        boolean coinciden = true;
+        for (TipoCola tipo : new TipoCola[] { TipoCola.HEAP_BINARIO,
+                TipoCola.MONTICULO_INDEXADO, TipoCola.BUCKETS }) {
+            RecomendadorAmigos rec = new RecomendadorAmigos();
+            rec.setTipoCola(tipo);
+            int[] distancias = rec.calcularDistancias(grafo, origen);
+            System.out.printf("  %-18s operaciones=%d, tiempo=%.3f ms%n",
+                    tipo, rec.getOperaciones(), rec.getTiempoEjecucionMs());
+            if (referencia == null) {
+                referencia = distancias;
+            } else {
+                coinciden &= Arrays.equals(referencia, distancias);
+            }
+        }
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de colas completado");
+    }
+    
+    /**
+     * Test 13: Top-N con Dijkstra acotado vs distancias completas
+     */
+    public void testRecomendarAcotado() {
+        System.out.println("\n=== TEST 13: TOP-N CON DIJKSTRA ACOTADO ===");
+        
+        boolean coinciden = true;
+        int consultas = 0;
+        for (int caso = 0; caso < 40; caso++) {
+            // Pesos 1..3: muchos empates en la distancia del N-ésimo
+            int numUsuarios = 20 + 5 * caso;
+            Grafo grafo = generarRedConPesos(numUsuarios, 2 * numUsuarios, 3, caso);
+            Random random = new Random(caso);
+            
+            for (int consulta = 0; consulta < 10; consulta++) {
+                int origen = random.nextInt(numUsuarios);
+                Usuario usuario = grafo.getUsuario(origen);
+                int n = 1 + random.nextInt(15);
+                List<RecomendacionAmigo> recomendaciones = recomendador.recomendar(grafo, usuario, n);
+                int[] distancias = recomendador.calcularDistancias(grafo, origen);
+                
+                // Referencia: alcanzables que no son el usuario ni sus amigos, por (distancia, índice)
+                List<Integer> candidatos = new ArrayList<>();
+                for (int i = 0; i < numUsuarios; i++) {
+                    if (i != origen && distancias[i] != Integer.MAX_VALUE && grafo.getPesoArista(origen, i) < 0) {
+                        candidatos.add(i);
+                    }
+                }
+                candidatos.sort(Comparator.<Integer>comparingInt(i -> distancias[i]).thenComparingInt(i -> i));
+                List<Integer> esperados = candidatos.subList(0, Math.min(n, candidatos.size()));
+                
+                coinciden &= recomendaciones.size() == esperados.size();
+                for (int k = 0; k < Math.min(recomendaciones.size(), esperados.size()); k++) {
+                    RecomendacionAmigo recomendacion = recomendaciones.get(k);
+                    int esperado = esperados.get(k);
+                    coinciden &= grafo.getIndice(recomendacion.getUsuario()) == esperado
+                            && recomendacion.getDistancia() == distancias[esperado];
+                    // La ruta sale del usuario, llega al candidato y sus pesos suman la distancia
+                    coinciden &= distanciaCorrecta(grafo, recomendacion, usuario, distancias[esperado]);
+                }
+                consultas++;
+            }
+        }
+        
+        System.out.println("Consultas top-N: " + consultas);
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de top-N acotado completado");
+    }
+    
+    /**
+     * @return true si la recomendación tiene la distancia esperada (o no existe si
+     *         no hay camino) y su ruta es un camino válido del grafo con ese largo
+     */
+    private boolean distanciaCorrecta(GrafoIndexado grafo, RecomendacionAmigo rec, Usuario origen,
+                                      Integer esperada) {
+        if (rec == null) {
+            return esperada == null;
+        }
+        if (esperada == null || rec.getDistancia() != esperada || !rec.getRuta().get(0).equals(origen)) {
+            return false;
+        }
+        int largo = 0;
+        List<Usuario> ruta = rec.getRuta();
+        for (int i = 1; i < ruta.size(); i++) {
+            int peso = grafo.getPesoArista(grafo.getIndice(ruta.get(i - 1)), grafo.getIndice(ruta.get(i)));
+            if (peso < 0) {
+                return false;
+            }
+            largo += peso;
+        }
+        return largo == esperada && ruta.get(ruta.size() - 1).equals(rec.getUsuario());
+    }
+    
+    /**
+     * Test 14: Distancia entre dos usuarios con Dijkstra bidireccional
+     */
+    public void testDistanciaEntre() {
+        System.out.println("\n=== TEST 14: DISTANCIA ENTRE DOS USUARIOS (BIDIRECCIONAL) ===");
+        
+        Grafo grafo = generarRedAleatoria(2000, 8000);
+        List<Usuario> usuarios = new ArrayList<>(grafo.getUsuarios());
+        usuarios.sort(Comparator.comparingInt(Usuario::getId));
+        Random random = new Random(7);
+        
+        boolean coinciden = true;
+        long tocados = 0;
+        int consultas = 20;
+        for (int i = 0; i < consultas; i++) {
+            Usuario origen = usuarios.get(random.nextInt(usuarios.size()));
+            Usuario destino = usuarios.get(random.nextInt(usuarios.size()));
+            
+            int esperada = recomendador.calcularDistancias(grafo, origen).get(destino);
+            RecomendacionAmigo rec = recomendador.distanciaEntre(grafo, origen, destino);
+            tocados += recomendador.getUsuariosTocados();
+            
+            int obtenida = rec != null ? rec.getDistancia() : Integer.MAX_VALUE;
+            coinciden &= esperada == obtenida;
+            if (i == 0 && rec != null) {
+                System.out.println("Ejemplo: " + rec);
+            }
+        }
+        
+        System.out.printf("Usuarios tocados en promedio: %.1f de %d%n",
+                (double) tocados / consultas, usuarios.size());
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test bidireccional completado");
+    }
+    
+    /**
+     * Test 15: Una misma instancia reutilizada en grafos con distinto peso máximo
+     */
+    public void testReusoEntreGrafos() {
+        System.out.println("\n=== TEST 15: REUSO ENTRE GRAFOS CON DISTINTOS PESOS ===");
+        
+        // La cola de cada lado de la búsqueda bidireccional debe admitir el peso
+        // máximo del grafo actual aunque se haya creado para uno más liviano
+        RecomendadorAmigos reusado = new RecomendadorAmigos();
+        Random random = new Random(15);
+        boolean coinciden = true;
+        int[] pesosMaximos = { 100, 10, 50, 300, 10, 200 };
+        for (int p = 0; p < pesosMaximos.length; p++) {
+            Grafo grafo = generarRedConPesos(500, 2000, pesosMaximos[p], p);
+            List<Usuario> usuarios = new ArrayList<>(grafo.getUsuarios());
+            Usuario origen = usuarios.get(random.nextInt(usuarios.size()));
+            
+            if (p == 0) {
+                // Solo la cola hacia adelante, con cota 100
+                reusado.calcularDistancias(grafo, origen);
+                continue;
+            }
+            for (int i = 0; i < 5; i++) {
+                Usuario destino = usuarios.get(random.nextInt(usuarios.size()));
+                Integer esperada = new RecomendadorAmigos().calcularDistancias(grafo, origen).get(destino);
+                RecomendacionAmigo rec = reusado.distanciaEntre(grafo, origen, destino);
+                coinciden &= rec != null ? esperada != null && rec.getDistancia() == esperada
+                        : esperada == null;
+            }
+            System.out.println("Peso máximo " + grafo.getPesoMaximo() + ": 5 consultas bidireccionales");
+        }
+        
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de reuso entre grafos completado");
+    }
+    
+    /**
+     * Test 16: A* con landmarks (ALT) vs Dijkstra, y guardado/carga del índice
+     */
+    public void testLandmarks() {
+        System.out.println("\n=== TEST 16: A* CON LANDMARKS ===");
+        
+        Grafo grafo = generarRedAleatoria(2000, 8000);
+        IndiceLandmarks indice = IndiceLandmarks.construir(grafo, 8);
+        System.out.println(indice);
+        List<Usuario> usuarios = new ArrayList<>(grafo.getUsuarios());
+        usuarios.sort(Comparator.comparingInt(Usuario::getId));
+        Random random = new Random(16);
+        
+        boolean coinciden = indice.estaActualizado(grafo);
+        long tocadosAEstrella = 0;
+        long tocadosBidireccional = 0;
+        int consultas = 30;
+        for (int i = 0; i < consultas; i++) {
+            Usuario origen = usuarios.get(random.nextInt(usuarios.size()));
+            Usuario destino = usuarios.get(random.nextInt(usuarios.size()));
+            Integer esperada = recomendador.calcularDistancias(grafo, origen).get(destino);
+            
+            RecomendacionAmigo rec = recomendador.distanciaEntre(grafo, origen, destino, indice);
+            tocadosAEstrella += recomendador.getUsuariosTocados();
+            recomendador.distanciaEntre(grafo, origen, destino);
+            tocadosBidireccional += recomendador.getUsuariosTocados();
+            coinciden &= distanciaCorrecta(grafo, rec, origen, esperada);
+        }
+        System.out.printf("Usuarios tocados en promedio: A* %.1f, bidireccional %.1f%n",
+                (double) tocadosAEstrella / consultas, (double) tocadosBidireccional / consultas);
+        
+        Path archivo = null;
+        try {
+            // Grafos cargados (versión 0) con los mismos usuarios y aristas, uno con
+            // un peso distinto: solo la huella los diferencia
+            Grafo cargado = cargarCopia(grafo, false);
+            Grafo otroPeso = cargarCopia(grafo, true);
+            IndiceLandmarks indiceCargado = IndiceLandmarks.construir(cargado, 8);
+            
+            archivo = Files.createTempFile("landmarks", ".rslm");
+            indiceCargado.guardar(archivo);
+            IndiceLandmarks leido = IndiceLandmarks.cargar(archivo);
+            
+            coinciden &= !leido.estaActualizado(cargado)
+                    && leido.getHuella() == indiceCargado.getHuella()
+                    && !leido.vincular(otroPeso)
+                    && !leido.estaActualizado(otroPeso)
+                    && leido.vincular(cargado)
+                    && leido.estaActualizado(cargado)
+                    && Arrays.equals(leido.getLandmarks(), indiceCargado.getLandmarks());
+            
+            // Mismo contenido con los vecinos en otro orden: también se puede vincular
+            GrafoCSR csr = new GrafoCSR(cargado);
+            coinciden &= IndiceLandmarks.cargar(archivo).vincular(csr);
+            
+            for (int i = 0; i < consultas; i++) {
+                Usuario origen = usuarios.get(random.nextInt(usuarios.size()));
+                Usuario destino = usuarios.get(random.nextInt(usuarios.size()));
+                int u = cargado.getIndice(origen);
+                int v = cargado.getIndice(destino);
+                coinciden &= leido.cotaInferior(u, v) == indiceCargado.cotaInferior(u, v);
+                
+                Integer esperada = recomendador.calcularDistancias(cargado, origen).get(destino);
+                coinciden &= distanciaCorrecta(cargado, recomendador.distanciaEntre(cargado, origen, destino, leido),
+                        origen, esperada);
+                
+                // Con otro contenido el índice no se usa: la respuesta sigue siendo exacta
+                Integer esperadaOtro = recomendador.calcularDistancias(otroPeso, origen).get(destino);
+                coinciden &= distanciaCorrecta(otroPeso, recomendador.distanciaEntre(otroPeso, origen, destino, leido),
+                        origen, esperadaOtro);
+            }
+            
+            // Un cambio posterior en el grafo desvincula el índice
+            Usuario a = cargado.getUsuario(0);
+            Usuario b = cargado.getVecinos(a).get(0).getDestino();
+            cargado.setPesoArista(a, b, 1);
+            coinciden &= !leido.estaActualizado(cargado);
+        } catch (IOException e) {
+            System.out.println("Error de E/S: " + e.getMessage());
+            coinciden = false;
+        } finally {
+            borrar(archivo);
+        }
+        
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de landmarks completado");
+    }
+    
+    /**
+     * Copia el grafo con CargadorGrafo (queda con versión 0).
+     * 
+     * @param cambiarPeso true para cargar la primera amistad del usuario 0 con otro peso
+     */
+    private Grafo cargarCopia(Grafo grafo, boolean cambiarPeso) {
+        CargadorGrafo cargador = new CargadorGrafo(grafo.getNumeroAristas());
+        for (int i = 0; i < grafo.getNumeroVertices(); i++) {
+            cargador.agregarUsuario(grafo.getUsuario(i));
+        }
+        for (int i = 0; i < grafo.getNumeroVertices(); i++) {
+            for (int k = 0; k < grafo.getGrado(i); k++) {
+                int vecino = grafo.getVecino(i, k);
+                if (i < vecino) {
+                    int peso = grafo.getPesoVecino(i, k) + (cambiarPeso && i == 0 && k == 0 ? 1 : 0);
+                    cargador.agregarAmistad(grafo.getUsuario(i), grafo.getUsuario(vecino), peso);
+                }
+            }
+        }
+        return cargador.construir();
+    }
+    
+    /**
+     * Test 17: Recomendaciones en lote (fork-join) vs recomendar usuario por usuario
+     */
+    public void testRecomendadorLotes() {
+        System.out.println("\n=== TEST 17: RECOMENDACIONES EN LOTE ===");
+        
+        Grafo grafo = generarRedAleatoria(1500, 5000);
+        RecomendadorLotes lotes = new RecomendadorLotes(4);
+        
+        Map<Usuario, String> enLote = new ConcurrentHashMap<>();
+        lotes.recomendarTodos(grafo, 5, (usuario, recs) -> enLote.put(usuario, recs.toString()));
+        System.out.printf("Todos: %d usuarios en %.3f ms con %d hilos%n",
+                lotes.getUsuariosProcesados(), lotes.getTiempoEjecucionMs(), lotes.getParalelismo());
+        
+        boolean coinciden = enLote.size() == grafo.getNumeroVertices();
+        for (Usuario usuario : grafo.getUsuarios()) {
+            coinciden &= recomendador.recomendar(grafo, usuario, 5).toString().equals(enLote.get(usuario));
+        }
+        
+        // Subconjunto con un usuario ajeno al grafo (se ignora)
+        List<Usuario> subconjunto = new ArrayList<>(grafo.getUsuarios()).subList(0, 300);
+        List<Usuario> pedidos = new ArrayList<>(subconjunto);
+        pedidos.add(new Usuario(99999, "Ajeno", "estudiante"));
+        Map<Usuario, String> lote = new ConcurrentHashMap<>();
+        lotes.recomendarLote(grafo, pedidos, 3, (usuario, recs) -> lote.put(usuario, recs.toString()));
+        coinciden &= lote.size() == subconjunto.size();
+        for (Usuario usuario : subconjunto) {
+            coinciden &= recomendador.recomendar(grafo, usuario, 3).toString().equals(lote.get(usuario));
+        }
+        System.out.println("Lote: " + lotes.getUsuariosProcesados() + " usuarios");
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de recomendaciones en lote completado");
+    }
+    
+    /**
+     * Test 18: Recomendación por amigos en común (dos saltos, sin Dijkstra)
+     */
+    public void testAmigosEnComun() {
+        System.out.println("\n=== TEST 18: AMIGOS EN COMÚN ===");
+        
+        // Ana es amiga de Bruno, Carla y Diego; Eva es amiga de los tres, Fede solo de Diego
+        Usuario ana = new Usuario(1, "Ana", "estudiante");
+        Usuario bruno = new Usuario(2, "Bruno", "estudiante");
+        Usuario carla = new Usuario(3, "Carla", "estudiante");
+        Usuario diego = new Usuario(4, "Diego", "estudiante");
+        Usuario eva = new Usuario(5, "Eva", "estudiante");
+        Usuario fede = new Usuario(6, "Fede", "estudiante");
+        
+        Grafo grafo = new Grafo();
+        grafo.agregarAmistad(ana, bruno, 10);
+        grafo.agregarAmistad(ana, carla, 20);
+        grafo.agregarAmistad(ana, diego, 5);
+        grafo.agregarAmistad(eva, bruno, 10);
+        grafo.agregarAmistad(eva, carla, 10);
+        grafo.agregarAmistad(eva, diego, 30);
+        grafo.agregarAmistad(fede, diego, 1);
+        
+        List<RecomendacionAmigo> recs = recomendador.recomendarPorAmigosEnComun(grafo, ana, 5);
+        for (RecomendacionAmigo rec : recs) {
+            System.out.println("  " + rec);
+        }
+        
+        System.out.println("Resultados coinciden: " + (recs.size() == 2
+                && recs.get(0).getUsuario().equals(eva) && recs.get(0).getAmigosEnComun() == 3
+                && recs.get(1).getUsuario().equals(fede) && recs.get(1).getAmigosEnComun() == 1));
+        System.out.println("Operaciones: " + recomendador.getOperaciones());
+        
+        System.out.println("\n✓ Test de amigos en común completado");
+    }
+    
+    /**
+     * Test 19: Caché de recomendaciones invalidada por cambios del grafo
+     */
+    public void testCacheRecomendaciones() {
+        System.out.println("\n=== TEST 19: CACHÉ DE RECOMENDACIONES ===");
+        
+        Grafo grafo = generarRedAleatoria(2000, 6000);
+        CacheRecomendaciones cache = new CacheRecomendaciones(grafo, 500, 0);
+        List<Usuario> usuarios = new ArrayList<>(grafo.getUsuarios());
+        Random random = new Random(11);
+        
+        // Consultas repetidas intercaladas con modificaciones del grafo
+        boolean coinciden = true;
+        for (int i = 0; i < 3000; i++) {
+            Usuario u = usuarios.get(random.nextInt(200));
+            if (i % 50 == 0) {
+                Usuario v = usuarios.get(random.nextInt(usuarios.size()));
+                if (grafo.sonAmigos(u, v)) {
+                    grafo.eliminarAmistad(u, v);
+                } else if (!u.equals(v)) {
+                    grafo.agregarAmistad(u, v, random.nextInt(20) + 1);
+                }
+                continue;
+            }
+            String enCache = cache.recomendar(u, 5).toString();
+            String calculado = recomendador.recomendar(grafo, u, 5).toString();
+            coinciden &= enCache.equals(calculado);
+        }
+        
+        System.out.println("Aciertos: " + cache.getAciertos() + ", fallos: " + cache.getFallos()
+                + ", invalidaciones: " + cache.getInvalidaciones());
+        System.out.printf("Tasa de aciertos: %.2f%n", cache.getTasaAciertos());
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de caché de recomendaciones completado");
+    }
+    
+    /**
+     * Test 20: Distancias dinámicas de usuarios fijados reparadas en cada cambio
+     */
+    public void testDistanciasDinamicas() {
+        System.out.println("\n=== TEST 20: DISTANCIAS DINÁMICAS ===");
+        
+        Grafo grafo = generarRedAleatoria(5000, 15000);
+        DistanciasDinamicas dinamicas = new DistanciasDinamicas(grafo);
+        List<Usuario> usuarios = new ArrayList<>(grafo.getUsuarios());
+        Usuario fijado = usuarios.get(0);
+        dinamicas.fijar(fijado);
+        Random random = new Random(12);
+        
+        long reparados = 0;
+        for (int i = 0; i < 500; i++) {
+            Usuario u = usuarios.get(random.nextInt(usuarios.size()));
+            Usuario v = usuarios.get(random.nextInt(usuarios.size()));
+            if (grafo.sonAmigos(u, v)) {
+                if (random.nextBoolean()) {
+                    grafo.eliminarAmistad(u, v);
+                } else {
+                    grafo.setPesoArista(u, v, random.nextInt(20) + 1);
+                }
+            } else if (!u.equals(v)) {
+                grafo.agregarAmistad(u, v, random.nextInt(20) + 1);
+            }
+            reparados += dinamicas.getUsuariosReparados();
+        }
+        
+        // Comparar con Dijkstra desde cero sobre el grafo final
+        int[] esperadas = recomendador.calcularDistancias(grafo, grafo.getIndice(fijado));
+        boolean coinciden = true;
+        for (int i = 0; i < esperadas.length; i++) {
+            coinciden &= dinamicas.getDistancia(fijado, grafo.getUsuario(i)) == esperadas[i];
+        }
+        
+        System.out.println("Cambios aplicados: 500");
+        System.out.printf("Usuarios reparados por cambio (promedio): %.1f de %d%n",
+                reparados / 500.0, grafo.getNumeroVertices());
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de distancias dinámicas completado");
+    }
+    
+    /**
+     * Test 21: Conectividad de todos los usuarios - exacta en lote y estimada con pivotes
+     */
+    public void testConectividadTodos() {
+        System.out.println("\n=== TEST 21: CONECTIVIDAD DE TODOS LOS USUARIOS ===");
+        
+        // Red principal más una componente chica y un usuario aislado
+        Grafo grafo = generarRedAleatoria(800, 2400);
+        Usuario[] aparte = new Usuario[4];
+        for (int i = 0; i < aparte.length; i++) {
+            aparte[i] = new Usuario(1001 + i, "Aparte" + i, "estudiante");
+        }
+        grafo.agregarAmistad(aparte[0], aparte[1], 4);
+        grafo.agregarAmistad(aparte[1], aparte[2], 6);
+        grafo.agregarUsuario(aparte[3]);
+        RecomendadorLotes lotes = new RecomendadorLotes(4);
+        
+        Map<Usuario, EstadisticasConectividad> exactas = new ConcurrentHashMap<>();
+        lotes.analizarConectividadTodos(grafo, exactas::put);
+        System.out.printf("Exacta: %d usuarios en %.3f ms%n", exactas.size(), lotes.getTiempoEjecucionMs());
+        
+        boolean coinciden = exactas.size() == grafo.getNumeroVertices();
+        for (Usuario usuario : grafo.getUsuarios()) {
+            EstadisticasConectividad esperada = recomendador.analizarConectividad(grafo, usuario);
+            coinciden &= mismasEstadisticas(esperada, exactas.get(usuario), 0);
+        }
+        
+        // Con K >= V todos los usuarios son pivotes: la estimación es exacta
+        Map<Usuario, EstadisticasConectividad> estimadas = new ConcurrentHashMap<>();
+        lotes.estimarConectividadTodos(grafo, grafo.getNumeroVertices(), 18, estimadas::put);
+        coinciden &= estimadas.size() == grafo.getNumeroVertices();
+        for (Usuario usuario : grafo.getUsuarios()) {
+            coinciden &= mismasEstadisticas(exactas.get(usuario), estimadas.get(usuario), 1e-9);
+        }
+        
+        // Con pocos pivotes: alcanzables exactos y distancia máxima como cota inferior
+        Map<Usuario, EstadisticasConectividad> muestra = new ConcurrentHashMap<>();
+        lotes.estimarConectividadTodos(grafo, 16, 18, muestra::put);
+        double errorPromedio = 0;
+        for (Usuario usuario : grafo.getUsuarios()) {
+            EstadisticasConectividad exacta = exactas.get(usuario);
+            EstadisticasConectividad estimada = muestra.get(usuario);
+            coinciden &= estimada.getAmigosDirectos() == exacta.getAmigosDirectos()
+                    && estimada.getUsuariosAlcanzables() == exacta.getUsuariosAlcanzables()
+                    && estimada.getDistanciaMaxima() <= exacta.getDistanciaMaxima();
+            if (exacta.getDistanciaPromedio() > 0) {
+                errorPromedio += Math.abs(estimada.getDistanciaPromedio() - exacta.getDistanciaPromedio())
+                        / exacta.getDistanciaPromedio();
+            }
+        }
+        System.out.printf("Estimada con 16 pivotes: error relativo medio del promedio %.3f, %.3f ms%n",
+                errorPromedio / grafo.getNumeroVertices(), lotes.getTiempoEjecucionMs());
+        System.out.println("Resultados coinciden: " + coinciden);
+        
+        System.out.println("\n✓ Test de conectividad de todos los usuarios completado");
+    }
+    
+    private boolean mismasEstadisticas(EstadisticasConectividad a, EstadisticasConectividad b, double tolerancia) {
+        return a != null && b != null
+                && a.getAmigosDirectos() == b.getAmigosDirectos()
+                && a.getUsuariosAlcanzables() == b.getUsuariosAlcanzables()
+                && Math.abs(a.getDistanciaPromedio() - b.getDistanciaPromedio()) <= tolerancia
+                && a.getDistanciaMaxima() == b.getDistanciaMaxima();
+    }
+    
     /**
      * Genera una red social aleatoria.
      * 
@@ -361,6 +1235,58 @@ public class TestRecomendadorAmigos {
         return grafo;
     }
     
+    /**
+     * Genera una red aleatoria con pesos entre 1 y pesoMaximo (al menos una arista
+     * tiene exactamente ese peso).
+     */
+    private Grafo generarRedConPesos(int numUsuarios, int numAmistades, int pesoMaximo, long semilla) {
+        Grafo grafo = new Grafo();
+        Random random = new Random(semilla);
+        Usuario[] usuarios = new Usuario[numUsuarios];
+        for (int i = 0; i < numUsuarios; i++) {
+            usuarios[i] = new Usuario(i + 1, "Usuario" + (i + 1), "estudiante");
+            grafo.agregarUsuario(usuarios[i]);
+        }
+        grafo.agregarAmistad(usuarios[0], usuarios[1], pesoMaximo);
+        for (int e = 1; e < numAmistades; e++) {
+            grafo.agregarAmistad(usuarios[random.nextInt(numUsuarios)],
+                    usuarios[random.nextInt(numUsuarios)], random.nextInt(pesoMaximo) + 1);
+        }
+        return grafo;
+    }
+    
+    /**
+     * Compara dos grafos: mismos usuarios con el mismo índice y, para cada uno, los
+     * mismos vecinos con los mismos pesos (en cualquier orden).
+     */
+    private boolean mismaAdyacencia(GrafoIndexado a, GrafoIndexado b) {
+        if (a.getNumeroVertices() != b.getNumeroVertices()) {
+            return false;
+        }
+        for (int i = 0; i < a.getNumeroVertices(); i++) {
+            Usuario usuario = a.getUsuario(i);
+            if (b.getUsuario(i).getId() != usuario.getId() || b.getIndice(usuario) != i
+                    || a.getGrado(i) != b.getGrado(i)) {
+                return false;
+            }
+            long[] paresA = new long[a.getGrado(i)];
+            long[] paresB = new long[b.getGrado(i)];
+            for (int k = 0; k < paresA.length; k++) {
+                paresA[k] = ((long) a.getVecino(i, k) << 32) | a.getPesoVecino(i, k);
+                paresB[k] = ((long) b.getVecino(i, k) << 32) | b.getPesoVecino(i, k);
+                if (b.getPesoArista(i, a.getVecino(i, k)) != a.getPesoVecino(i, k)) {
+                    return false;
+                }
+            }
+            Arrays.sort(paresA);
+            Arrays.sort(paresB);
+            if (!Arrays.equals(paresA, paresB)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     /**
      * Ejecuta todos los tests
      */
@@ -377,6 +1303,21 @@ public class TestRecomendadorAmigos {
         testCasoGrande();
         testAnalisisComplejidad();
         testCasosEspeciales();
+        testRepresentacionCSR();
+        testIndiceAristas();
+        testCargadorGrafo();
+        testGrafoMapeado();
+        testVistaGrafo();
+        testColasPrioridad();
+        testRecomendarAcotado();
+        testDistanciaEntre();
+        testReusoEntreGrafos();
+        testLandmarks();
+        testRecomendadorLotes();
+        testAmigosEnComun();
+        testCacheRecomendaciones();
+        testDistanciasDinamicas();
+        testConectividadTodos();
         
         System.out.println("\n------------------------------------------------------------");
         System.out.println("--            TODOS LOS TESTS COMPLETADOS ✓               --");
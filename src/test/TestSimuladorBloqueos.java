@@ -1,5 +1,7 @@
 package test;
 
+import algoritmos.backtracking.ConjuntosDisjuntos;
+import algoritmos.backtracking.IndicePuentes;
 import algoritmos.backtracking.ParUsuarios;
 import algoritmos.backtracking.ResultadoBloqueo;
 import algoritmos.backtracking.SimuladorBloqueos;
@@ -334,6 +336,315 @@ public class TestSimuladorBloqueos {
         return grafo;
     }
     
+    /**
+     * Test 7: Índice de puentes contra quitar la arista y recorrer el grafo
+     */
+    public void testPuentesAleatorios() {
+        System.out.println("\n=== TEST 7: PUENTES EN GRAFOS ALEATORIOS ===");
+        
+        Random random = new Random(7);
+        int grafos = 300;
+        int aristasProbadas = 0;
+        int puentes = 0;
+        boolean coinciden = true;
+        for (int caso = 0; caso < grafos; caso++) {
+            Grafo grafo = generarGrafoAleatorio(random, 2 + random.nextInt(9));
+            IndicePuentes indice = new IndicePuentes(grafo);
+            long version = grafo.getVersion();
+            
+            for (int u = 0; u < grafo.getNumeroVertices(); u++) {
+                for (int k = 0; k < grafo.getGrado(u); k++) {
+                    int v = grafo.getVecino(u, k);
+                    Usuario a = grafo.getUsuario(u);
+                    Usuario b = grafo.getUsuario(v);
+                    
+                    // Referencia: quitar la arista de una copia y recorrer sus componentes
+                    Grafo sinArista = grafo.copiar();
+                    sinArista.eliminarAmistad(a, b);
+                    List<Set<Usuario>> componentes = simulador.identificarComponentes(sinArista);
+                    boolean sigueConexo = componentes.size() == 1;
+                    boolean esPuente = false;
+                    for (Set<Usuario> componente : componentes) {
+                        esPuente |= componente.contains(a) && !componente.contains(b);
+                    }
+                    
+                    coinciden &= indice.sigueConexoSin(u, v) == sigueConexo
+                            && indice.esPuente(u, v) == esPuente;
+                    
+                    // Mismo criterio que el simulador original: conexo después del bloqueo
+                    ResultadoBloqueo resultado = simulador.simularBloqueo(grafo, a, b);
+                    coinciden &= resultado.isSigueConexo() == sigueConexo
+                            && resultado.getConexionesNecesarias() == componentes.size() - 1;
+                    
+                    aristasProbadas++;
+                    if (esPuente) {
+                        puentes++;
+                    }
+                }
+            }
+            // El simulador no modifica el grafo original
+            coinciden &= grafo.getVersion() == version;
+        }
+        
+        System.out.println("Grafos: " + grafos + ", aristas probadas: " + aristasProbadas
+                + ", puentes: " + puentes);
+        System.out.println("Resultados coinciden: " + coinciden);
+        System.out.println("✓ Test completado");
+    }
+    
+    /**
+     * Genera un grafo chico con varias componentes: cada una es un árbol
+     * aleatorio (puentes y articulaciones) más algunas aristas extra (ciclos).
+     */
+    private Grafo generarGrafoAleatorio(Random random, int n) {
+        Grafo grafo = new Grafo();
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            usuarios.add(new Usuario(i, "U" + i, "estudiante"));
+            grafo.agregarUsuario(usuarios.get(i));
+        }
+        
+        int numComponentes = 1 + random.nextInt(Math.min(3, n));
+        int[] componente = new int[n];
+        for (int i = 0; i < n; i++) {
+            componente[i] = i < numComponentes ? i : random.nextInt(numComponentes);
+        }
+        for (int i = 0; i < n; i++) {
+            // Árbol: colgar cada usuario de uno anterior de su componente
+            List<Integer> anteriores = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                if (componente[j] == componente[i]) {
+                    anteriores.add(j);
+                }
+            }
+            if (!anteriores.isEmpty()) {
+                int padre = anteriores.get(random.nextInt(anteriores.size()));
+                grafo.agregarAmistad(usuarios.get(i), usuarios.get(padre), 1);
+            }
+        }
+        int extras = random.nextInt(n);
+        for (int e = 0; e < extras; e++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if (i != j && componente[i] == componente[j]) {
+                grafo.agregarAmistad(usuarios.get(i), usuarios.get(j), 1);
+            }
+        }
+        return grafo;
+    }
+    
+    /**
+     * Test 8: Union-Find con deshacer contra la partición recalculada
+     */
+    public void testConjuntosDisjuntos() {
+        System.out.println("\n=== TEST 8: UNION-FIND CON DESHACER ===");
+        
+        Random random = new Random(8);
+        int secuencias = 300;
+        int deshechas = 0;
+        int nulas = 0;
+        boolean coinciden = true;
+        for (int caso = 0; caso < secuencias; caso++) {
+            int n = 1 + random.nextInt(12);
+            ConjuntosDisjuntos conjuntos = new ConjuntosDisjuntos(n);
+            List<int[]> uniones = new ArrayList<>();
+            
+            for (int paso = 0; paso < 60; paso++) {
+                if (!uniones.isEmpty() && random.nextInt(3) == 0) {
+                    conjuntos.deshacer();
+                    uniones.remove(uniones.size() - 1);
+                    deshechas++;
+                } else {
+                    int a = random.nextInt(n);
+                    int b = random.nextInt(n);
+                    boolean separados = particion(n, uniones)[a] != particion(n, uniones)[b];
+                    coinciden &= conjuntos.unir(a, b) == separados;
+                    uniones.add(new int[]{a, b});
+                    if (!separados) {
+                        nulas++;
+                    }
+                }
+                
+                // Comparar contra la partición que dejan las uniones vigentes
+                int[] etiqueta = particion(n, uniones);
+                Set<Integer> distintas = new HashSet<>();
+                for (int x = 0; x < n; x++) {
+                    distintas.add(etiqueta[x]);
+                    int raiz = conjuntos.buscar(x);
+                    coinciden &= conjuntos.buscar(raiz) == raiz && etiqueta[raiz] == etiqueta[x];
+                    for (int y = 0; y < n; y++) {
+                        coinciden &= conjuntos.conectados(x, y) == (etiqueta[x] == etiqueta[y]);
+                    }
+                }
+                coinciden &= conjuntos.getNumeroConjuntos() == distintas.size();
+            }
+        }
+        
+        System.out.println("Secuencias: " + secuencias + ", uniones deshechas: " + deshechas
+                + ", uniones nulas: " + nulas);
+        System.out.println("Resultados coinciden: " + coinciden);
+        System.out.println("✓ Test completado");
+    }
+    
+    /**
+     * Partición de 0..n-1 que dejan las uniones dadas: cada elemento queda con el
+     * menor elemento de su conjunto (se propaga hasta que no cambia nada).
+     */
+    private int[] particion(int n, List<int[]> uniones) {
+        int[] etiqueta = new int[n];
+        for (int x = 0; x < n; x++) {
+            etiqueta[x] = x;
+        }
+        boolean cambio = true;
+        while (cambio) {
+            cambio = false;
+            for (int[] union : uniones) {
+                int menor = Math.min(etiqueta[union[0]], etiqueta[union[1]]);
+                if (etiqueta[union[0]] != menor || etiqueta[union[1]] != menor) {
+                    etiqueta[union[0]] = menor;
+                    etiqueta[union[1]] = menor;
+                    cambio = true;
+                }
+            }
+        }
+        return etiqueta;
+    }
+    
+    /**
+     * Test 9: Conexiones mínimas contra búsqueda exhaustiva
+     */
+    public void testConexionesMinimasFuerzaBruta() {
+        System.out.println("\n=== TEST 9: CONEXIONES MÍNIMAS VS FUERZA BRUTA ===");
+        
+        Random random = new Random(9);
+        int grafos = 200;
+        int desconectados = 0;
+        boolean coinciden = true;
+        for (int caso = 0; caso < grafos; caso++) {
+            Grafo grafo = generarGrafoAleatorio(random, 2 + random.nextInt(6));
+            int n = grafo.getNumeroVertices();
+            
+            for (int u = 0; u < n; u++) {
+                for (int k = 0; k < grafo.getGrado(u); k++) {
+                    int v = grafo.getVecino(u, k);
+                    if (u > v) {
+                        continue;
+                    }
+                    Usuario a = grafo.getUsuario(u);
+                    Usuario b = grafo.getUsuario(v);
+                    ResultadoBloqueo resultado = simulador.simularBloqueo(grafo, a, b);
+                    
+                    Grafo sinArista = grafo.copiar();
+                    sinArista.eliminarAmistad(a, b);
+                    
+                    // Candidatas: todos los pares que no son amigos tras el bloqueo
+                    List<int[]> candidatas = new ArrayList<>();
+                    for (int x = 0; x < n; x++) {
+                        for (int y = x + 1; y < n; y++) {
+                            if (!sinArista.sonAmigos(sinArista.getUsuario(x), sinArista.getUsuario(y))) {
+                                candidatas.add(new int[]{x, y});
+                            }
+                        }
+                    }
+                    int minimo = minimoPorFuerzaBruta(sinArista, candidatas);
+                    
+                    // La solución devuelta tiene el tamaño mínimo y deja el grafo conexo
+                    Grafo reparado = sinArista.copiar();
+                    for (ParUsuarios par : resultado.getConexionesMinimas()) {
+                        reparado.agregarAmistad(par.getUsuario1(), par.getUsuario2(), 1);
+                    }
+                    coinciden &= resultado.getConexionesNecesarias() == minimo
+                            && resultado.getConexionesMinimas().size() == minimo
+                            && simulador.verificarConectividad(reparado);
+                    if (minimo > 0) {
+                        desconectados++;
+                    }
+                }
+            }
+        }
+        
+        System.out.println("Grafos: " + grafos + ", bloqueos que desconectan: " + desconectados);
+        System.out.println("Resultados coinciden: " + coinciden);
+        System.out.println("✓ Test completado");
+    }
+    
+    /**
+     * Menor cantidad de candidatas que, agregadas al grafo, lo dejan conexo.
+     * Prueba los subconjuntos por tamaño creciente.
+     */
+    private int minimoPorFuerzaBruta(Grafo grafo, List<int[]> candidatas) {
+        int n = grafo.getNumeroVertices();
+        for (int tamanio = 0; tamanio <= candidatas.size(); tamanio++) {
+            for (long subconjunto = 0; subconjunto < (1L << candidatas.size()); subconjunto++) {
+                if (Long.bitCount(subconjunto) != tamanio) {
+                    continue;
+                }
+                // Union-Find simple sobre las aristas del grafo y las elegidas
+                int[] padre = new int[n];
+                for (int x = 0; x < n; x++) {
+                    padre[x] = x;
+                }
+                int componentes = n;
+                for (int x = 0; x < n; x++) {
+                    for (int k = 0; k < grafo.getGrado(x); k++) {
+                        componentes -= unirRaices(padre, x, grafo.getVecino(x, k));
+                    }
+                }
+                for (int c = 0; c < candidatas.size(); c++) {
+                    if ((subconjunto & (1L << c)) != 0) {
+                        componentes -= unirRaices(padre, candidatas.get(c)[0], candidatas.get(c)[1]);
+                    }
+                }
+                if (componentes <= 1) {
+                    return tamanio;
+                }
+            }
+        }
+        return -1;
+    }
+    
+    private int unirRaices(int[] padre, int a, int b) {
+        while (padre[a] != a) {
+            a = padre[a];
+        }
+        while (padre[b] != b) {
+            b = padre[b];
+        }
+        if (a == b) {
+            return 0;
+        }
+        padre[a] = b;
+        return 1;
+    }
+    
+    /**
+     * Test 10: Cadena larga - el recorrido iterativo no desborda la pila
+     */
+    public void testCadenaLarga() {
+        System.out.println("\n=== TEST 10: CADENA LARGA (200.000 usuarios) ===");
+        
+        int n = 200_000;
+        Grafo grafo = new Grafo();
+        Usuario anterior = new Usuario(0, "U0", "estudiante");
+        grafo.agregarUsuario(anterior);
+        for (int i = 1; i < n; i++) {
+            Usuario siguiente = new Usuario(i, "U" + i, "estudiante");
+            grafo.agregarAmistad(anterior, siguiente, 1);
+            anterior = siguiente;
+        }
+        
+        boolean conexo = simulador.verificarConectividad(grafo);
+        System.out.println("¿Cadena conexa? " + conexo);
+        
+        // Cortar la cadena por la mitad: deben quedar dos componentes
+        grafo.eliminarAmistad(new Usuario(n / 2 - 1, "", ""), new Usuario(n / 2, "", ""));
+        List<Set<Usuario>> componentes = simulador.identificarComponentes(grafo);
+        System.out.println("Componentes tras el corte: " + componentes.size());
+        System.out.println("Resultados coinciden: " + (conexo && componentes.size() == 2
+                && componentes.get(0).size() == n / 2));
+        System.out.println("✓ Recorrido sin StackOverflowError");
+    }
+    
     /**
      * Ejecuta todos los tests
      */
@@ -350,6 +661,10 @@ public class TestSimuladorBloqueos {
         testAnalisisBacktracking();
         testCasosEspeciales();
         testRendimiento();
+        testPuentesAleatorios();
+        testConjuntosDisjuntos();
+        testConexionesMinimasFuerzaBruta();
+        testCadenaLarga();
         
         System.out.println("\n----------------------------------------------------------");
         System.out.println("--           TODOS LOS TESTS COMPLETADOS ✓              --");